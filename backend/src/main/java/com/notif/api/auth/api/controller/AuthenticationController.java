@@ -7,6 +7,7 @@ import com.notif.api.auth.application.service.AuthenticationService;
 import com.notif.api.auth.infrastructure.security.CookieUtil;
 import com.notif.api.auth.infrastructure.security.NotifUserDetails;
 import com.notif.api.core.dto.ApiResponse;
+import com.notif.api.core.security.PasswordHashingExecutor;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.NonNull;
@@ -18,11 +19,14 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.concurrent.CompletableFuture;
+
 @RestController
 @RequestMapping("${api.prefix}/auth")
 @RequiredArgsConstructor
 public class AuthenticationController {
     private final AuthenticationService authenticationService;
+    private final PasswordHashingExecutor passwordHashingExecutor;
 
     @GetMapping("/test")
     public ResponseEntity<String> test() {
@@ -30,8 +34,11 @@ public class AuthenticationController {
         return ResponseEntity.status(HttpStatus.OK).body(response);
     }
 
+    /**
+     * Runs on the password hashing executor; the request thread is released while credentials are verified.
+     */
     @PostMapping("/login")
-    public ResponseEntity<ApiResponse<LoginResponse>> login(
+    public CompletableFuture<ResponseEntity<ApiResponse<LoginResponse>>> login(
             @NonNull HttpServletRequest servletRequest,
             @RequestBody @Valid LoginRequest loginRequest
     ) {
@@ -42,14 +49,16 @@ public class AuthenticationController {
                 .deviceId(CookieUtil.getCookieValue(servletRequest, CookieUtil.DEVICE_COOKIE_NAME))
                 .build();
 
-        AuthenticationResult<LoginResponse> result = authenticationService.authenticate(loginRequest, context);
-        ResponseCookie refreshTokenCookie = CookieUtil.createRefreshTokenCookie(result.getCookies().getRefreshToken());
-        ResponseCookie deviceIdCookie = CookieUtil.createDeviceIdCookie(result.getCookies().getDeviceId());
+        return passwordHashingExecutor.submit(() -> {
+            AuthenticationResult<LoginResponse> result = authenticationService.authenticate(loginRequest, context);
+            ResponseCookie refreshTokenCookie = CookieUtil.createRefreshTokenCookie(result.getCookies().getRefreshToken());
+            ResponseCookie deviceIdCookie = CookieUtil.createDeviceIdCookie(result.getCookies().getDeviceId());
 
-        return ResponseEntity.status(HttpStatus.OK)
-                .header(HttpHeaders.SET_COOKIE, refreshTokenCookie.toString())
-                .header(HttpHeaders.SET_COOKIE, deviceIdCookie.toString())
-                .body(new ApiResponse<>("Login successful", result.getResponse()));
+            return ResponseEntity.status(HttpStatus.OK)
+                    .header(HttpHeaders.SET_COOKIE, refreshTokenCookie.toString())
+                    .header(HttpHeaders.SET_COOKIE, deviceIdCookie.toString())
+                    .body(new ApiResponse<>("Login successful", result.getResponse()));
+        });
     }
 
     @PostMapping("/refresh")
@@ -107,14 +116,18 @@ public class AuthenticationController {
     public ResponseEntity<ApiResponse<AuthenticatedUserResponse>> getAuthenticatedUser(
             @AuthenticationPrincipal NotifUserDetails user
     ) {
-        AuthenticatedUserResponse userInfo = authenticationService.getAuthenticatedUser(user.getId());
+        AuthenticatedUserResponse userInfo = authenticationService.getAuthenticatedUser(user);
         return ResponseEntity.status(HttpStatus.OK).body(new ApiResponse<>("Success", userInfo));
     }
 
     @PostMapping("/register")
-    public ResponseEntity<ApiResponse<RegisterResponse>> register(@RequestBody @Valid RegisterRequest request) {
-        RegisterResponse response = authenticationService.register(request);
-        return ResponseEntity.status(HttpStatus.CREATED).body(new ApiResponse<>("Registration successful", response));
+    public CompletableFuture<ResponseEntity<ApiResponse<RegisterResponse>>> register(
+            @RequestBody @Valid RegisterRequest request
+    ) {
+        return passwordHashingExecutor.submit(() -> {
+            RegisterResponse response = authenticationService.register(request);
+            return ResponseEntity.status(HttpStatus.CREATED).body(new ApiResponse<>("Registration successful", response));
+        });
     }
 
     @GetMapping("/confirm-registration")
@@ -0,0 +1,73 @@
+package com.notif.api.auth.application.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Bounded in-process cache from a device cookie (Device.deviceId) to the device's internal ID and profile ID.
+ *
+ * The mapping never changes for the lifetime of a device, and devices are never deleted, so entries need no TTL;
+ * they only have to follow device creation (cached once the inserting transaction commits). Anything that starts
+ * deleting devices has to evict them on every node, since this cache is node-local. Unknown cookies are not cached,
+ * so a client sending random values cannot crowd out real devices.
+ *
+ * Hit/miss/eviction metrics are published as "cache.*" meters with cache=auth.device.
+ */
+@Component
+public class DeviceCache {
+    private final Cache<UUID, CachedDevice> byDeviceId;
+
+    public DeviceCache(
+            MeterRegistry meterRegistry,
+            @Value("${auth.device-cache.maximum-size:50000}") long maximumSize
+    ) {
+        this.byDeviceId = CaffeineCacheMetrics.monitor(meterRegistry, Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .recordStats()
+                .<UUID, CachedDevice>build(), "auth.device");
+    }
+
+    /**
+     * Returns the cached device for the cookie, loading it on a miss. Only found devices are cached.
+     */
+    public Optional<CachedDevice> get(UUID deviceId, Function<UUID, Optional<CachedDevice>> loader) {
+        CachedDevice cached = byDeviceId.getIfPresent(deviceId);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+
+        Optional<CachedDevice> loaded = loader.apply(deviceId);
+        loaded.ifPresent(device -> byDeviceId.put(deviceId, device));
+
+        return loaded;
+    }
+
+    /**
+     * Caches a newly created device once the current transaction commits, or right away outside a transaction.
+     */
+    public void putAfterCommit(UUID deviceId, CachedDevice device) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            byDeviceId.put(deviceId, device);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                byDeviceId.put(deviceId, device);
+            }
+        });
+    }
+
+    public record CachedDevice(UUID id, UUID profileId) {}
+}
@@ -17,5 +17,6 @@ public class DeviceDto {
     private String name;
     private String model;
     private String userAgent;
+    // Time of the request that resolved the device; the stored value is written behind (see ActivityTracker)
     private Instant lastSeenAt;
 }
\ No newline at end of file
@@ -0,0 +1,21 @@
+package com.notif.api.auth.application.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.UUID;
+
+/**
+ * Data transfer object used for device profile operations.
+ */
+@Data
+@Builder
+public class DeviceProfileDto {
+    private UUID id;
+    private String userAgent;
+    private String type;
+    private String name;
+    private String model;
+    private String os;
+    private String browser;
+}
@@ -3,8 +3,7 @@ package com.notif.api.auth.application.service;
 import com.notif.api.auth.api.dto.*;
 import com.notif.api.auth.application.dto.AuthenticationRequestContext;
 import com.notif.api.auth.application.dto.AuthenticationResult;
-
-import java.util.UUID;
+import com.notif.api.auth.infrastructure.security.NotifUserDetails;
 
 /**
  * Provides authentication and registration operations, including user login,
@@ -15,7 +14,7 @@ public interface AuthenticationService {
     RegisterResponse register(RegisterRequest request);
     RegisterResponse confirmRegistration(String token, String userEmail);
     RegisterResponse resendVerificationEmail(String userEmail);
-    AuthenticatedUserResponse getAuthenticatedUser(UUID id);
+    AuthenticatedUserResponse getAuthenticatedUser(NotifUserDetails user);
     AuthenticationResult<LoginResponse> authenticate(LoginRequest request, AuthenticationRequestContext context);
     AuthenticationResult<LoginResponse> refresh(String refreshToken, AuthenticationRequestContext context);
     AuthenticationResult<LogoutResponse> logout(String refreshToken, AuthenticationRequestContext context);
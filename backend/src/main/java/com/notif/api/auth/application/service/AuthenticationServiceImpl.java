@@ -2,6 +2,7 @@ package com.notif.api.auth.application.service;
 
 import com.notif.api.auth.api.dto.*;
 import com.notif.api.auth.application.dto.*;
+import com.notif.api.auth.domain.exception.SessionExpiredException;
 import com.notif.api.auth.domain.exception.SessionRevokedException;
 import com.notif.api.auth.domain.exception.TokenExpiredException;
 import com.notif.api.auth.domain.exception.TokenRevokedException;
@@ -19,11 +20,13 @@ import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.Instant;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.UUID;
 
 /**
@@ -43,6 +46,8 @@ public class AuthenticationServiceImpl implements AuthenticationService {
     private final UserDeviceService userDeviceService;
     private final SessionService sessionService;
     private final SessionRevocationService sessionRevocationService;
+    private final SecurityEpochService securityEpochService;
+    private final TransactionTemplate transactionTemplate;
 
     /**
      * Registers a new user by delegating user creation to the User service.
@@ -112,16 +117,29 @@ public class AuthenticationServiceImpl implements AuthenticationService {
     }
 
     /**
-     * Retrieves the currently authenticated user's profile information
-     * from the User service using their email identifier.
+     * Builds the currently authenticated user's profile information from the principal
+     * loaded by the security filter chain, without another user lookup.
+     *
+     * Falls back to the User service only for principals that carry no profile names
+     * (e.g., access tokens issued before the name claims were added).
      */
     @Override
-    public AuthenticatedUserResponse getAuthenticatedUser(UUID id) {
-        UserResponse user = userClient.getUserById(id);
+    public AuthenticatedUserResponse getAuthenticatedUser(NotifUserDetails user) {
+        if (user.getFirstName() == null) {
+            UserResponse storedUser = userClient.getUserById(user.getId());
+
+            return AuthenticatedUserResponse.builder()
+                    .id(storedUser.getId())
+                    .email(storedUser.getEmail())
+                    .firstName(storedUser.getFirstName())
+                    .fullName(storedUser.getFullName())
+                    .role(storedUser.getRole())
+                    .build();
+        }
 
         return AuthenticatedUserResponse.builder()
                 .id(user.getId())
-                .email(user.getEmail())
+                .email(user.getUsername())
                 .firstName(user.getFirstName())
                 .fullName(user.getFullName())
                 .role(user.getRole())
@@ -131,9 +149,10 @@ public class AuthenticationServiceImpl implements AuthenticationService {
     /**
      * Authenticates user credentials, generates a JWT access token and
      * refresh token, and returns both as part of the authentication result.
+     *
+     * Credentials are verified before the transaction is opened, so no connection is held while hashing.
      */
     @Override
-    @Transactional
     public AuthenticationResult<LoginResponse> authenticate(
             LoginRequest request,
             AuthenticationRequestContext context
@@ -146,9 +165,23 @@ public class AuthenticationServiceImpl implements AuthenticationService {
                 )
         );
 
-        // Extract authenticated user information then load full user profile
+        // Extract authenticated user information; the principal already carries the user profile
         NotifUserDetails userDetails = (NotifUserDetails)authentication.getPrincipal();
-        AuthenticatedUserResponse userInfo = getAuthenticatedUser(userDetails.getId());
+
+        return transactionTemplate.execute(status -> openSession(userDetails, context));
+    }
+
+    /**
+     * Registers the device and opens a new session for an authenticated user.
+     *
+     * Known devices cost three statements: device lookup (none once the device is cached), user device upsert,
+     * and session replacement with refresh token issuance. LoginStatementCountTest pins this.
+     */
+    private AuthenticationResult<LoginResponse> openSession(
+            NotifUserDetails userDetails,
+            AuthenticationRequestContext context
+    ) {
+        AuthenticatedUserResponse userInfo = getAuthenticatedUser(userDetails);
 
         // Register a new device or return an existing device from the DB
         DeviceDto device = deviceService.registerDevice(context.getDeviceId(), context.getUserAgent());
@@ -156,20 +189,16 @@ public class AuthenticationServiceImpl implements AuthenticationService {
         // TODO (future): add MFA if device not trusted
         UserDeviceDto userDevice = userDeviceService.registerLogin(userInfo, device);
 
-        // Revoke the current active session on the device (if any) before creating a new one
-        revokeExistingDeviceSession(device.getId());
-        // Create new session
-        SessionDto session = sessionService.createSession(
+        // Replace the current active session on the device (if any) with a new session
+        // and issue its long-lived refresh token, in a single statement
+        RefreshTokenDto refreshToken = refreshTokenService.openSession(
                 userInfo.getId(),
                 device.getId(),
                 context.getClientIp()
         );
 
-        // Issue long-lived refresh token
-        RefreshTokenDto refreshToken = refreshTokenService.generateToken(session.getId());
-
         // Issue short-lived JWT access token
-        String jwtToken = jwtTokenProvider.generateToken(userDetails);
+        String jwtToken = generateAccessToken(userDetails, refreshToken.getSessionId());
         Date expiration = jwtTokenProvider.extractExpiration(jwtToken);
         long expiresIn = (expiration.getTime() - System.currentTimeMillis()) / AppConstants.MILLISECONDS_PER_SECOND;
 
@@ -191,21 +220,28 @@ public class AuthenticationServiceImpl implements AuthenticationService {
     }
 
     /**
-     * Revoke any active session on the given device, marking it as replaced.
+     * Issues an access token bound to the session and stamped with the user's current security epoch.
      */
-    private void revokeExistingDeviceSession(UUID deviceId) {
-        sessionService.getActiveSessionOnDevice(deviceId)
-                .map(SessionDto::getId)
-                .ifPresent(id ->
-                        sessionRevocationService.revokeSession(id, SessionRevokedReason.SESSION_REPLACED)
-                );
+    private String generateAccessToken(NotifUserDetails userDetails, UUID sessionId) {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put(JwtTokenProvider.CLAIM_SECURITY_EPOCH, securityEpochService.getCurrentEpoch(userDetails.getId()));
+        claims.put(JwtTokenProvider.CLAIM_SESSION_ID, sessionId.toString());
+
+        return jwtTokenProvider.generateToken(claims, userDetails);
     }
 
     /**
      * Refreshes authentication using the provided refresh token and context.
      */
     @Override
-    @Transactional
+    @Transactional(
+            noRollbackFor = {
+                    TokenRevokedException.class,
+                    TokenExpiredException.class,
+                    SessionRevokedException.class,
+                    SessionExpiredException.class
+            }
+    )
     public AuthenticationResult<LoginResponse> refresh(
             String refreshTokenString,
             AuthenticationRequestContext context
@@ -223,7 +259,7 @@ public class AuthenticationServiceImpl implements AuthenticationService {
         NotifUserDetails userDetails = new NotifUserDetails(associatedUser);
 
         // Generate a new short-lived JWT access token via JwtService
-        String jwtToken = jwtTokenProvider.generateToken(userDetails);
+        String jwtToken = generateAccessToken(userDetails, currentSession.getId());
         Date expiration = jwtTokenProvider.extractExpiration(jwtToken);
         long expiresIn = (expiration.getTime() - System.currentTimeMillis()) / AppConstants.MILLISECONDS_PER_SECOND;
 
@@ -245,7 +281,14 @@ public class AuthenticationServiceImpl implements AuthenticationService {
      * Logs out the user by invalidating the refresh token and ending the session on the current device.
      */
     @Override
-    @Transactional
+    @Transactional(
+            noRollbackFor = {
+                    TokenRevokedException.class,
+                    TokenExpiredException.class,
+                    SessionRevokedException.class,
+                    SessionExpiredException.class
+            }
+    )
     public AuthenticationResult<LogoutResponse> logout(
             String refreshTokenString,
             AuthenticationRequestContext context
@@ -266,7 +309,14 @@ public class AuthenticationServiceImpl implements AuthenticationService {
      * Logs out the user by invalidating the refresh token and ending all user sessions.
      */
     @Override
-    @Transactional
+    @Transactional(
+            noRollbackFor = {
+                    TokenRevokedException.class,
+                    TokenExpiredException.class,
+                    SessionRevokedException.class,
+                    SessionExpiredException.class
+            }
+    )
     public AuthenticationResult<LogoutResponse> logoutAllDevices(
             String refreshTokenString,
             AuthenticationRequestContext context
@@ -285,15 +335,11 @@ public class AuthenticationServiceImpl implements AuthenticationService {
 
     /**
      * Retrieves the session from the refresh token, validates it, and ensures it matches the current device.
+     *
+     * Runs in the caller's transaction, so a request holds a single pooled connection throughout. Revocations
+     * made before a validation failure are still committed: the callers do not roll back for the exceptions
+     * thrown here, and neither do the transactional methods this calls.
      */
-    @Transactional(
-            propagation = Propagation.REQUIRES_NEW,
-            noRollbackFor = {
-                    TokenRevokedException.class,
-                    TokenExpiredException.class,
-                    SessionRevokedException.class
-            }
-    )
     private SessionDto getValidatedSession(String refreshTokenString, String cookieDeviceId) {
         // Fetch refresh token details from DB
         RefreshTokenDto refreshToken = refreshTokenService.getToken(refreshTokenString);
@@ -314,9 +360,9 @@ public class AuthenticationServiceImpl implements AuthenticationService {
         SessionDto currentSession = sessionService.getActiveSession(refreshToken.getSessionId());
 
         // Reject if the session's refresh token is being used from an unrecognized or mismatched device
+        // The cookie is resolved from the device cache, so this is normally an in-memory comparison
         // TODO (future): Suspicious login/refresh request (IP/User-Agent/Geo)
-        boolean isDeviceMismatch = deviceService.getDevice(cookieDeviceId)
-                .map(DeviceDto::getId)
+        boolean isDeviceMismatch = deviceService.findDeviceId(cookieDeviceId)
                 .filter(id -> id.equals(currentSession.getDeviceId()))
                 .isEmpty();
         if (isDeviceMismatch) {
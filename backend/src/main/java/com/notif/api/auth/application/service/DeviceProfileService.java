@@ -0,0 +1,13 @@
+package com.notif.api.auth.application.service;
+
+import com.notif.api.auth.application.dto.DeviceProfileDto;
+
+import java.util.UUID;
+
+/**
+ * Service interface for the shared, per-user-agent device profiles.
+ */
+public interface DeviceProfileService {
+    DeviceProfileDto intern(String userAgent);
+    DeviceProfileDto getProfile(UUID profileId);
+}
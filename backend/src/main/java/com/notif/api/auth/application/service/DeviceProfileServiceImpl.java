@@ -0,0 +1,181 @@
+package com.notif.api.auth.application.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.notif.api.auth.application.dto.DeviceProfileDto;
+import com.notif.api.auth.domain.model.DeviceProfile;
+import com.notif.api.auth.domain.repository.DeviceProfileRepository;
+import com.notif.api.auth.infrastructure.useragent.UserAgentClassification;
+import com.notif.api.auth.infrastructure.useragent.UserAgentClassifier;
+import com.notif.api.core.security.TokenHasher;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Implementation of device profile interning.
+ *
+ * Every distinct user agent is stored once, as a DeviceProfile that devices reference. Profiles are also interned
+ * in memory by id, so a repeated user agent is neither parsed nor inserted again, and device reads resolve their
+ * profile without a join. What is interned is always the stored row, never this node's own classification, and
+ * only once the transaction that wrote it has committed, so the map never disagrees with the database.
+ *
+ * Only analyzer results are interned. A profile classified by the fallback classifier (while the analyzer was
+ * still being built) is returned but not interned; the first node to see it again with the analyzer ready
+ * replaces its classification, and UnknownDeviceBackfill catches the rest.
+ *
+ * Hit/miss metrics are published as "cache.*" meters with cache=auth.device-profile.
+ */
+@Service
+public class DeviceProfileServiceImpl implements DeviceProfileService {
+    private final DeviceProfileRepository deviceProfileRepository;
+    private final UserAgentClassifier userAgentClassifier;
+    private final Cache<UUID, DeviceProfileDto> profiles;
+
+    public DeviceProfileServiceImpl(
+            DeviceProfileRepository deviceProfileRepository,
+            UserAgentClassifier userAgentClassifier,
+            MeterRegistry meterRegistry,
+            @Value("${auth.device-profile-cache.maximum-size:20000}") long maximumSize
+    ) {
+        this.deviceProfileRepository = deviceProfileRepository;
+        this.userAgentClassifier = userAgentClassifier;
+        this.profiles = CaffeineCacheMetrics.monitor(meterRegistry, Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .recordStats()
+                .<UUID, DeviceProfileDto>build(), "auth.device-profile");
+    }
+
+    /**
+     * Returns the profile for the user agent, classifying and inserting it if it is new.
+     */
+    @Override
+    @Transactional
+    public DeviceProfileDto intern(String userAgent) {
+        String normalized = UserAgentClassifier.normalize(userAgent);
+        UUID id = profileId(normalized);
+
+        DeviceProfileDto cached = profiles.getIfPresent(id);
+        if (cached != null) {
+            return cached;
+        }
+
+        // Checked before classifying: if the analyzer becomes ready in between, the result is merely not trusted
+        boolean analyzed = userAgentClassifier.isAnalyzerReady();
+        UserAgentClassification agent = userAgentClassifier.classify(normalized);
+        Instant now = Instant.now();
+
+        // Retried once: only empty when a concurrent request inserted the same profile first
+        DeviceProfile stored = findOrInsert(id, normalized, agent, analyzed, now)
+                .or(() -> findOrInsert(id, normalized, agent, analyzed, now))
+                .orElseThrow();
+
+        if (stored.isAnalyzed()) {
+            DeviceProfileDto profile = mapProfileToDto(stored);
+            internAfterCommit(profile);
+            return profile;
+        }
+        if (!analyzed) {
+            return mapProfileToDto(stored);
+        }
+
+        // Stored by the fallback classifier; replace it with the analyzer's classification
+        DeviceProfileDto profile = DeviceProfileDto.builder()
+                .id(id)
+                .userAgent(stored.getUserAgent())
+                .type(agent.type())
+                .name(agent.deviceName())
+                .model(agent.model())
+                .os(agent.os())
+                .browser(agent.browser())
+                .build();
+        int updated = deviceProfileRepository.updateAnalyzedClassification(
+                id, agent.type(), agent.deviceName(), agent.model(), agent.os(), agent.browser(), now);
+        // Not interned if another request upgraded it first; the next miss reads the stored row
+        if (updated == 1) {
+            internAfterCommit(profile);
+        }
+
+        return profile;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public DeviceProfileDto getProfile(UUID profileId) {
+        DeviceProfileDto cached = profiles.getIfPresent(profileId);
+        if (cached != null) {
+            return cached;
+        }
+
+        DeviceProfile stored = deviceProfileRepository.findById(profileId).orElseThrow();
+        DeviceProfileDto profile = mapProfileToDto(stored);
+        if (stored.isAnalyzed()) {
+            profiles.put(profileId, profile);
+        }
+
+        return profile;
+    }
+
+    private Optional<DeviceProfile> findOrInsert(
+            UUID id,
+            String userAgent,
+            UserAgentClassification agent,
+            boolean analyzed,
+            Instant now
+    ) {
+        return deviceProfileRepository.findOrInsert(
+                id,
+                userAgent,
+                agent.type(),
+                agent.deviceName(),
+                agent.model(),
+                agent.os(),
+                agent.browser(),
+                analyzed,
+                now
+        );
+    }
+
+    private void internAfterCommit(DeviceProfileDto profile) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            profiles.put(profile.getId(), profile);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                profiles.put(profile.getId(), profile);
+            }
+        });
+    }
+
+    /**
+     * Derives the profile id from the first 128 bits of the SHA-256 hash of the normalized user agent.
+     */
+    private static UUID profileId(String normalizedUserAgent) {
+        ByteBuffer hash = ByteBuffer.wrap(TokenHasher.sha256(normalizedUserAgent));
+        return new UUID(hash.getLong(), hash.getLong());
+    }
+
+    private DeviceProfileDto mapProfileToDto(DeviceProfile profile) {
+        return DeviceProfileDto.builder()
+                .id(profile.getId())
+                .userAgent(profile.getUserAgent())
+                .type(profile.getType())
+                .name(profile.getName())
+                .model(profile.getModel())
+                .os(profile.getOs())
+                .browser(profile.getBrowser())
+                .build();
+    }
+}
@@ -3,6 +3,7 @@ package com.notif.api.auth.application.service;
 import com.notif.api.auth.application.dto.DeviceDto;
 
 import java.util.Optional;
+import java.util.UUID;
 
 /**
  * Service interface for managing devices used by the client.
@@ -10,4 +11,5 @@ import java.util.Optional;
 public interface DeviceService {
     DeviceDto registerDevice(String cookieDeviceId, String userAgent);
     Optional<DeviceDto> getDevice(String cookieDeviceId);
+    Optional<UUID> findDeviceId(String cookieDeviceId);
 }
\ No newline at end of file
@@ -1,12 +1,16 @@
 package com.notif.api.auth.application.service;
 
+import com.notif.api.auth.application.cache.DeviceCache;
+import com.notif.api.auth.application.cache.DeviceCache.CachedDevice;
 import com.notif.api.auth.application.dto.DeviceDto;
+import com.notif.api.auth.application.dto.DeviceProfileDto;
 import com.notif.api.auth.domain.model.Device;
+import com.notif.api.auth.domain.model.DeviceProfile;
 import com.notif.api.auth.domain.repository.DeviceRepository;
+import com.notif.api.auth.infrastructure.activity.ActivityTracker;
 import com.notif.api.core.utils.Util;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
-import nl.basjes.parse.useragent.UserAgent;
-import nl.basjes.parse.useragent.UserAgentAnalyzer;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -16,96 +20,119 @@ import java.util.UUID;
 
 /**
  * Service implementation for managing devices.
+ *
+ * Cookie lookups go through the DeviceCache, so a known device is resolved without a database read.
  */
 @Service
 @RequiredArgsConstructor
 public class DeviceServiceImpl implements DeviceService {
     private final DeviceRepository deviceRepository;
-    private final UserAgentAnalyzer userAgentAnalyzer;
+    private final DeviceProfileService deviceProfileService;
+    private final DeviceCache deviceCache;
+    private final EntityManager entityManager;
+    private final ActivityTracker activityTracker;
 
     /**
-     * Register a new device or return an existing device from the DB.
+     * Register a new device or return an existing device.
      * - If the device is unknown (cookie missing or invalid), a new device row is created in the DB,
      *   and a new deviceId is generated (used for future requests via cookie).
      * - If the device is already known (cookie matches a DB record), the lastSeenAt timestamp is updated.
-     *   The device entity is returned, and the existing cookie/deviceId can still be sent back to the client.
+     *   The device is returned, and the existing cookie/deviceId can still be sent back to the client.
+     *   The device comes from the DeviceCache and the timestamp is written behind by the ActivityTracker,
+     *   so a known device normally costs no database access at all. Its lastSeenAt is therefore the time of
+     *   this request, not the stored value from the previous visit.
      */
     @Override
     @Transactional
     public DeviceDto registerDevice(String cookieDeviceId, String userAgent) {
-        // Parse the deviceId from the cookie if present, ignoring it if malformed.
-        // This ensures we only use a valid UUID for looking up an existing device.
-        UUID deviceId = null;
-        if (!Util.isNullOrBlank(cookieDeviceId)) {
-            try {
-                deviceId = UUID.fromString(cookieDeviceId);
-            } catch (IllegalArgumentException ignored) {}
-        }
-
-        Optional<Device> byDeviceId = deviceId != null
-                ? deviceRepository.findByDeviceId(deviceId)
-                : Optional.empty();
+        UUID deviceId = parseDeviceId(cookieDeviceId);
+        Optional<CachedDevice> existingDevice = findDevice(deviceId);
 
-        if (byDeviceId.isPresent()) {
-            Device existingDevice = byDeviceId.get();
-            existingDevice.setLastSeenAt(Instant.now());
-            return mapDeviceToDto(existingDevice);
+        if (existingDevice.isPresent()) {
+            Instant now = Instant.now();
+            activityTracker.recordDeviceSeen(existingDevice.get().id(), now);
+            return mapDeviceToDto(deviceId, existingDevice.get(), now);
         }
 
-        UserAgent agent = userAgentAnalyzer.parse(userAgent);
-
-        String type = agent.getValue(UserAgent.DEVICE_CLASS);
-        String model = agent.getValue(UserAgent.DEVICE_NAME);
-        String os = agent.getValue(UserAgent.OPERATING_SYSTEM_NAME);
-        String browser = agent.getValue(UserAgent.AGENT_NAME);
-
-        boolean missingInfo = Util.isNullOrBlank(browser) || Util.isNullOrBlank(os);
-        String deviceName = missingInfo
-                ? "Unknown device"
-                : browser + " on " + os;
+        // A user agent seen before resolves to its profile without being parsed or inserted again
+        DeviceProfileDto profile = deviceProfileService.intern(userAgent);
 
         Device newDevice = Device.builder()
-                .type(type)
-                .name(deviceName)
-                .model(model)
-                .os(os)
-                .browser(browser)
-                .userAgent(userAgent)
+                .profile(entityManager.getReference(DeviceProfile.class, profile.getId()))
                 .build();
 
-        Device savedDevice = deviceRepository.save(newDevice);
+        // Flushed right away; the login path links it to the user with a native upsert next
+        Device savedDevice = deviceRepository.saveAndFlush(newDevice);
+        CachedDevice cachedDevice = new CachedDevice(savedDevice.getId(), profile.getId());
+        deviceCache.putAfterCommit(savedDevice.getDeviceId(), cachedDevice);
 
-        return mapDeviceToDto(savedDevice);
+        // Mapped from the interned profile: it may not be committed (or cached) yet
+        return mapDeviceToDto(savedDevice.getDeviceId(), savedDevice.getId(), profile, savedDevice.getLastSeenAt());
     }
 
     @Override
     public Optional<DeviceDto> getDevice(String cookieDeviceId) {
-        UUID deviceId = null;
+        UUID deviceId = parseDeviceId(cookieDeviceId);
+
+        return findDevice(deviceId).map(device -> {
+            Instant now = Instant.now();
+            activityTracker.recordDeviceSeen(device.id(), now);
+            return mapDeviceToDto(deviceId, device, now);
+        });
+    }
+
+    /**
+     * Resolves the cookie to the device's internal ID only, without its profile; this is all the session
+     * device check needs.
+     */
+    @Override
+    public Optional<UUID> findDeviceId(String cookieDeviceId) {
+        return findDevice(parseDeviceId(cookieDeviceId)).map(device -> {
+            activityTracker.recordDeviceSeen(device.id(), Instant.now());
+            return device.id();
+        });
+    }
+
+    /**
+     * Parses the deviceId from the cookie if present, ignoring it if malformed.
+     * This ensures we only use a valid UUID for looking up an existing device.
+     */
+    private static UUID parseDeviceId(String cookieDeviceId) {
         if (!Util.isNullOrBlank(cookieDeviceId)) {
             try {
-                deviceId = UUID.fromString(cookieDeviceId);
+                return UUID.fromString(cookieDeviceId);
             } catch (IllegalArgumentException ignored) {}
         }
 
-         return deviceId != null
-                 ? deviceRepository.findByDeviceId(deviceId).map(device -> {
-                     device.setLastSeenAt(Instant.now());
-                     return mapDeviceToDto(device);
-                 })
-                 : Optional.empty();
+        return null;
+    }
+
+    private Optional<CachedDevice> findDevice(UUID deviceId) {
+        if (deviceId == null) {
+            return Optional.empty();
+        }
+
+        // The profile ID is read from the lazy association's foreign key; the profile itself is not loaded
+        return deviceCache.get(deviceId, key -> deviceRepository.findByDeviceId(key)
+                .map(device -> new CachedDevice(device.getId(), device.getProfile().getId())));
     }
 
     /**
-     * Converts a Device entity to a DeviceDto for external use.
+     * Converts a cached device to a DeviceDto for external use. The profile comes from the intern map, so it is
+     * normally not read from the DB either.
      */
-    private DeviceDto mapDeviceToDto(Device device) {
+    private DeviceDto mapDeviceToDto(UUID deviceId, CachedDevice device, Instant lastSeenAt) {
+        return mapDeviceToDto(deviceId, device.id(), deviceProfileService.getProfile(device.profileId()), lastSeenAt);
+    }
+
+    private DeviceDto mapDeviceToDto(UUID deviceId, UUID id, DeviceProfileDto profile, Instant lastSeenAt) {
         return DeviceDto.builder()
-                .id(device.getId())
-                .deviceId(device.getDeviceId())
-                .name(device.getName())
-                .model(device.getModel())
-                .userAgent(device.getUserAgent())
-                .lastSeenAt(device.getLastSeenAt())
+                .id(id)
+                .deviceId(deviceId)
+                .name(profile.getName())
+                .model(profile.getModel())
+                .userAgent(profile.getUserAgent())
+                .lastSeenAt(lastSeenAt)
                 .build();
     }
-}
\ No newline at end of file
+}
@@ -11,7 +11,7 @@ import java.util.UUID;
  * used for authentication session management.
  */
 public interface RefreshTokenService {
-    RefreshTokenDto generateToken(UUID sessionId);
+    RefreshTokenDto openSession(UUID userId, UUID deviceId, String ipAddress);
     RefreshTokenDto rotate(String tokenString);
     RefreshTokenDto getToken(String tokenString);
     void validateToken(RefreshTokenDto tokenDto);
@@ -6,87 +6,161 @@ import com.notif.api.auth.domain.exception.TokenNotFoundException;
 import com.notif.api.auth.domain.exception.TokenRevokedException;
 import com.notif.api.auth.domain.model.RefreshToken;
 import com.notif.api.auth.domain.model.Session;
+import com.notif.api.auth.domain.model.SessionRevokedReason;
 import com.notif.api.auth.domain.repository.RefreshTokenRepository;
+import com.notif.api.auth.domain.repository.RefreshTokenRepository.TokenState;
+import com.notif.api.auth.infrastructure.expiry.SessionExpiryManager;
+import com.notif.api.auth.infrastructure.security.RevokedSessionRegistry;
 import com.notif.api.core.exception.ErrorCode;
-import jakarta.persistence.EntityManager;
+import com.notif.api.core.security.TokenHasher;
 import lombok.RequiredArgsConstructor;
-import org.apache.commons.codec.digest.DigestUtils;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.security.SecureRandom;
+import java.time.DateTimeException;
+import java.time.Duration;
 import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 /**
  * Implementation of refresh token lifecycle management.
  * Responsible for refresh token generation, token validation, token revocation, and clean up operations.
+ *
+ * Tokens use a selector/verifier format, "<id>.<expiry day>.<secret>": the id and the day its expiry falls on (the
+ * partition key, as days since the epoch in UTC) resolve the row by primary key within a single partition, and the
+ * secret is checked against the stored SHA-256 hash (raw 32 bytes) in constant time, so every lookup is a single
+ * point read. Tokens issued in the earlier "<id>.<secret>" format carry no day; they are looked up across the
+ * partitions a token still within its lifetime can be in, until they have all been rotated or have expired.
  */
 @Service
 @RequiredArgsConstructor
 public class RefreshTokenServiceImpl implements RefreshTokenService {
     private final RefreshTokenRepository tokenRepository;
-    private final EntityManager entityManager;
+    private final RevokedSessionRegistry revokedSessionRegistry;
+    private final SessionExpiryManager sessionExpiryManager;
+
+    private static final SecureRandom SECURE_RANDOM = new SecureRandom();
+    private static final int SECRET_BYTES = 32;
+    private static final char SELECTOR_SEPARATOR = '.';
 
     @Value("${jwt.refresh-token.expiration}")
     private long refreshTokenExpiration; // 7 days in seconds
 
     /**
-     * Generates a new refresh token with fresh expiration timestamp.
+     * Opens a new session on the device and issues its first refresh token, replacing the session currently
+     * active on the device (if any). Revocation and both inserts run as a single statement; revoked sessions are
+     * registered so their outstanding access tokens are rejected immediately. The new session is tracked for
+     * idle and absolute expiry.
      */
     @Override
     @Transactional
-    public RefreshTokenDto generateToken(UUID sessionId) {
-        String tokenString = UUID.randomUUID().toString();
-        String tokenHash = DigestUtils.sha256Hex(tokenString);
-        Session sessionProxy = entityManager.getReference(Session.class, sessionId);
-
-        RefreshToken token = RefreshToken.builder()
-                .token(tokenHash)
-                .session(sessionProxy)
-                .expiresAt(Instant.now().plusSeconds(refreshTokenExpiration))
-                .build();
+    public RefreshTokenDto openSession(UUID userId, UUID deviceId, String ipAddress) {
+        Instant now = Instant.now();
 
-        RefreshToken savedToken = tokenRepository.save(token);
+        UUID sessionId = UUID.randomUUID();
+        Instant sessionExpiresAt = now.plus(Duration.ofDays(Session.MAX_LIFETIME));
+        Instant expiresAt = tokenExpiresAt(now);
+        IssuedToken token = issueToken(expiresAt);
 
-        return convertTokenToDto(tokenString, savedToken);
+        List<UUID> replacedSessions = tokenRepository.openSession(
+                sessionId,
+                userId,
+                deviceId,
+                ipAddress,
+                sessionExpiresAt,
+                token.id(),
+                token.secretHash(),
+                expiresAt,
+                SessionRevokedReason.SESSION_REPLACED.name(),
+                now
+        );
+        replacedSessions.forEach(replacedSession -> {
+            revokedSessionRegistry.addAfterCommit(replacedSession);
+            sessionExpiryManager.unregister(replacedSession);
+        });
+        sessionExpiryManager.register(sessionId, now, sessionExpiresAt);
+
+        return RefreshTokenDto.builder()
+                .id(token.id())
+                .token(token.value())
+                .sessionId(sessionId)
+                .userId(userId)
+                .expiresAt(expiresAt)
+                .build();
     }
 
     /**
      * Performs refresh token rotation by consuming the current token and issuing a new one.
+     *
+     * Rotation is a single conditional statement rather than a locked read-modify-write, so concurrent refreshes
+     * of the same session (e.g., several tabs) do not serialize on row locks. Only the first caller consumes the
+     * token; the others fall back to the grace period check below. A rejected rotation writes nothing and does not
+     * mark the caller's transaction rollback-only, so revocations the caller already made still commit.
      */
     @Override
-    @Transactional
+    @Transactional(noRollbackFor = TokenRevokedException.class)
     public RefreshTokenDto rotate(String tokenString) {
-        String tokenHash = DigestUtils.sha256Hex(tokenString);
-        RefreshToken token = tokenRepository.findByTokenWithLock(tokenHash)
-                .orElseThrow(() -> new TokenNotFoundException("Invalid or expired refresh token. Please log in again."));
-
+        PresentedToken presented = parseToken(tokenString);
         Instant now = Instant.now();
-        // If a potential race condition occurs, return the same token if within the 30-second grace period.
-        boolean used = token.getUsedAt() != null;
-        boolean withinGracePeriod = used && token.getUsedAt().isAfter(now.minusSeconds(30));
 
-        if (withinGracePeriod) {
-            return convertTokenToDto(tokenString, token);
-        }
+        // Generate a new refresh token; only the hash of its secret is stored
+        Instant expiresAt = tokenExpiresAt(now);
+        IssuedToken newToken = issueToken(expiresAt);
 
-        // Mark the current refresh token as used to prevent reuse (token rotation)
-        token.setUsedAt(now);
+        Optional<UUID> sessionId = tokenRepository.rotateToken(
+                presented.id(),
+                presented.expiresFrom(),
+                presented.expiresTo(),
+                presented.secretHash(),
+                newToken.id(),
+                newToken.secretHash(),
+                expiresAt,
+                now
+        );
+        if (sessionId.isPresent()) {
+            return RefreshTokenDto.builder()
+                    .id(newToken.id())
+                    .token(newToken.value())
+                    .sessionId(sessionId.get())
+                    .expiresAt(expiresAt)
+                    .build();
+        }
 
-        // Generate a new refresh token and hash it before storing
-        String newTokenString = UUID.randomUUID().toString();
-        String newTokenHash = DigestUtils.sha256Hex(newTokenString);
+        // Lost the race (or the token was revoked in the meantime). If the token was consumed within the
+        // 30-second grace period, return the same token so the concurrent request still succeeds. The state is read
+        // back from the database: the entity loaded by getToken still shows the token as unused.
+        TokenState token = tokenRepository
+                .findState(presented.id(), presented.expiresFrom(), presented.expiresTo(), presented.secretHash())
+                .orElseThrow(() -> new TokenNotFoundException(
+                        "Invalid or expired refresh token. Please log in again."
+                ));
+        boolean withinGracePeriod = token.getRevokedAt() == null
+                && token.getUsedAt() != null
+                && token.getUsedAt().isAfter(now.minusSeconds(30));
+        if (!withinGracePeriod) {
+            throw new TokenRevokedException(
+                    "Your session is no longer valid. Please log in again.",
+                    ErrorCode.AUTH_SESSION_INVALID
+            );
+        }
 
-        RefreshToken newToken = RefreshToken.builder()
-                .token(newTokenHash)
-                .session(token.getSession())
-                .expiresAt(now.plusSeconds(refreshTokenExpiration))
+        return RefreshTokenDto.builder()
+                .id(presented.id())
+                .token(tokenString)
+                .sessionId(token.getSessionId())
+                .userId(token.getUserId())
+                .usedAt(token.getUsedAt())
+                .revokedAt(token.getRevokedAt())
+                .expiresAt(token.getExpiresAt())
                 .build();
-
-        RefreshToken savedToken = tokenRepository.save(newToken);
-
-        return convertTokenToDto(newTokenString, savedToken);
     }
 
     /**
@@ -95,8 +169,10 @@ public class RefreshTokenServiceImpl implements RefreshTokenService {
     @Override
     @Transactional(readOnly = true)
     public RefreshTokenDto getToken(String tokenString) {
-        String tokenHash = DigestUtils.sha256Hex(tokenString);
-        RefreshToken token = tokenRepository.findByToken(tokenHash)
+        PresentedToken presented = parseToken(tokenString);
+        RefreshToken token = tokenRepository
+                .findByIdExpiringWithin(presented.id(), presented.expiresFrom(), presented.expiresTo())
+                .filter(stored -> verifies(presented, stored))
                 .orElseThrow(() -> new TokenNotFoundException(
                         "Your session is no longer valid. Please log in again.",
                         ErrorCode.AUTH_SESSION_INVALID
@@ -139,10 +215,81 @@ public class RefreshTokenServiceImpl implements RefreshTokenService {
                 .id(token.getId())
                 .token(tokenString)
                 .sessionId(token.getSession().getId())
-                .userId(token.getSession().getUserId())
+                .userId(token.getUserId())
                 .usedAt(token.getUsedAt())
                 .revokedAt(token.getRevokedAt())
                 .expiresAt(token.getExpiresAt())
                 .build();
     }
-}
\ No newline at end of file
+
+    /**
+     * Expiry of a token issued now, truncated to the database's microsecond precision so that the day encoded in
+     * the token is the day of the stored value.
+     */
+    private Instant tokenExpiresAt(Instant now) {
+        return now.plusSeconds(refreshTokenExpiration).truncatedTo(ChronoUnit.MICROS);
+    }
+
+    /**
+     * Generates a new token: a random row id and its expiry day as selector and a random secret as verifier.
+     */
+    private static IssuedToken issueToken(Instant expiresAt) {
+        byte[] secret = new byte[SECRET_BYTES];
+        SECURE_RANDOM.nextBytes(secret);
+        String secretString = Base64.getUrlEncoder().withoutPadding().encodeToString(secret);
+        UUID id = UUID.randomUUID();
+        long expiryDay = LocalDate.ofInstant(expiresAt, ZoneOffset.UTC).toEpochDay();
+        String value = id.toString() + SELECTOR_SEPARATOR + expiryDay + SELECTOR_SEPARATOR + secretString;
+
+        return new IssuedToken(id, value, TokenHasher.sha256(secretString));
+    }
+
+    /**
+     * Splits a presented token into its selector (id and expiry range) and the hash of its verifier.
+     * Malformed tokens are reported the same way as unknown ones.
+     */
+    private PresentedToken parseToken(String tokenString) {
+        String[] parts = tokenString.split("\\" + SELECTOR_SEPARATOR, -1);
+        try {
+            if (parts.length == 3) {
+                LocalDate expiryDay = LocalDate.ofEpochDay(Long.parseLong(parts[1]));
+                return new PresentedToken(
+                        UUID.fromString(parts[0]),
+                        startOf(expiryDay),
+                        startOf(expiryDay.plusDays(1)),
+                        TokenHasher.sha256(parts[2])
+                );
+            }
+            if (parts.length == 2) {
+                // Earlier format without the expiry day: any token still within its lifetime expires before this
+                Instant now = Instant.now();
+                return new PresentedToken(
+                        UUID.fromString(parts[0]),
+                        now,
+                        now.plusSeconds(refreshTokenExpiration + 1),
+                        TokenHasher.sha256(parts[1])
+                );
+            }
+        } catch (IllegalArgumentException | DateTimeException ignored) {}
+
+        throw new TokenNotFoundException(
+                "Your session is no longer valid. Please log in again.",
+                ErrorCode.AUTH_SESSION_INVALID
+        );
+    }
+
+    /**
+     * Compares the verifier hash in constant time.
+     */
+    private static boolean verifies(PresentedToken presented, RefreshToken stored) {
+        return TokenHasher.matches(stored.getToken(), presented.secretHash());
+    }
+
+    private record IssuedToken(UUID id, String value, byte[] secretHash) {}
+
+    private static Instant startOf(LocalDate day) {
+        return day.atStartOfDay(ZoneOffset.UTC).toInstant();
+    }
+
+    private record PresentedToken(UUID id, Instant expiresFrom, Instant expiresTo, byte[] secretHash) {}
+}
@@ -0,0 +1,12 @@
+package com.notif.api.auth.application.service;
+
+import java.util.UUID;
+
+/**
+ * Service interface for per-user security epochs used to invalidate issued access tokens.
+ */
+public interface SecurityEpochService {
+    int getCurrentEpoch(UUID userId);
+    boolean isCurrent(UUID userId, int tokenEpoch);
+    void bumpEpoch(UUID userId);
+}
@@ -0,0 +1,118 @@
+package com.notif.api.auth.application.service;
+
+import com.notif.api.auth.domain.model.UserSecurityEpoch;
+import com.notif.api.auth.domain.repository.UserSecurityEpochRepository;
+import com.notif.api.core.scheduling.JobDefinition;
+import com.notif.api.core.scheduling.JobScheduler;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Service implementation that keeps every user's security epoch in memory so access tokens can be checked
+ * against it in O(1) on the request path.
+ *
+ * The table is sparse: only users whose epoch was bumped at least once are stored, everyone else is at epoch 0.
+ * It is loaded from the DB on startup, updated once a bump on this node commits, and picks up bumps made on other
+ * nodes by polling for recently updated rows every auth.security-epoch.sync-interval (a local job), so the filter
+ * never queries the DB for it. Epochs only move forward, so applying the same row twice is harmless.
+ */
+@Service
+public class SecurityEpochServiceImpl implements SecurityEpochService {
+    // updated_at is the bumping transaction's start time, so each poll re-reads this far back to catch bumps that
+    // committed after the previous poll started
+    private static final Duration SYNC_OVERLAP = Duration.ofMinutes(1);
+
+    private final UserSecurityEpochRepository epochRepository;
+    private final Map<UUID, Integer> epochs = new ConcurrentHashMap<>();
+    private volatile Instant lastSyncAt = Instant.now();
+
+    public SecurityEpochServiceImpl(
+            UserSecurityEpochRepository epochRepository,
+            JobScheduler jobScheduler,
+            @Value("${auth.security-epoch.sync-interval:PT5S}") Duration syncInterval
+    ) {
+        this.epochRepository = epochRepository;
+
+        jobScheduler.register(JobDefinition.builder()
+                .name("security-epoch-sync")
+                .fixedRate(syncInterval)
+                .clustered(false)
+                .task(context -> syncEpochs())
+                .build());
+    }
+
+    /**
+     * Repopulates the in-memory table before the application starts serving requests.
+     */
+    @PostConstruct
+    void loadEpochs() {
+        lastSyncAt = Instant.now();
+        for (UserSecurityEpoch epoch : epochRepository.findAll()) {
+            epochs.merge(epoch.getUserId(), epoch.getEpoch(), Math::max);
+        }
+    }
+
+    /**
+     * Applies epochs bumped since the previous poll, including bumps made on other nodes.
+     */
+    public synchronized void syncEpochs() {
+        Instant startedAt = Instant.now();
+        for (UserSecurityEpoch epoch : epochRepository.findUpdatedSince(lastSyncAt.minus(SYNC_OVERLAP))) {
+            epochs.merge(epoch.getUserId(), epoch.getEpoch(), Math::max);
+        }
+        lastSyncAt = startedAt;
+    }
+
+    @Override
+    public int getCurrentEpoch(UUID userId) {
+        return epochs.getOrDefault(userId, 0);
+    }
+
+    /**
+     * Returns true if a token stamped with the given epoch was issued after the user's latest bump.
+     */
+    @Override
+    public boolean isCurrent(UUID userId, int tokenEpoch) {
+        return tokenEpoch >= getCurrentEpoch(userId);
+    }
+
+    /**
+     * Increments the user's epoch, rejecting every access token issued before this call once the transaction
+     * commits. A rolled-back bump leaves the in-memory table untouched.
+     */
+    @Override
+    @Transactional
+    public void bumpEpoch(UUID userId) {
+        epochRepository.incrementEpoch(userId);
+        int epoch = epochRepository.findById(userId)
+                .map(UserSecurityEpoch::getEpoch)
+                .orElseThrow();
+
+        applyAfterCommit(userId, epoch);
+    }
+
+    private void applyAfterCommit(UUID userId, int epoch) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            // Never move backwards if two bumps for the same user race each other
+            epochs.merge(userId, epoch, Math::max);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                epochs.merge(userId, epoch, Math::max);
+            }
+        });
+    }
+}
@@ -3,11 +3,13 @@ package com.notif.api.auth.application.service;
 import com.notif.api.auth.domain.model.SessionRevokedReason;
 import com.notif.api.auth.domain.repository.RefreshTokenRepository;
 import com.notif.api.auth.domain.repository.SessionRepository;
+import com.notif.api.auth.infrastructure.expiry.SessionExpiryManager;
+import com.notif.api.auth.infrastructure.security.RevokedSessionRegistry;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 import java.util.UUID;
 
 /**
@@ -18,33 +20,46 @@ import java.util.UUID;
 public class SessionRevocationServiceImpl implements SessionRevocationService {
     private final SessionRepository sessionRepository;
     private final RefreshTokenRepository refreshTokenRepository;
+    private final SecurityEpochService securityEpochService;
+    private final RevokedSessionRegistry revokedSessionRegistry;
+    private final SessionExpiryManager sessionExpiryManager;
 
     /**
      * Revokes a specific session and its tokens.
+     * The session is also registered as revoked once the transaction commits, so its outstanding access tokens are
+     * rejected immediately.
      */
     @Override
     @Transactional
     public void revokeSession(UUID sessionId, SessionRevokedReason reason) {
         sessionRepository.revokeActiveSessionById(sessionId, reason);
         refreshTokenRepository.revokeTokensBySessionId(sessionId);
+        revokedSessionRegistry.addAfterCommit(sessionId);
+        sessionExpiryManager.unregister(sessionId);
     }
 
     /**
      * Revokes all active sessions for a user and their tokens.
+     * Also bumps the user's security epoch so access tokens already issued are rejected immediately.
      */
     @Override
     @Transactional
     public void revokeAllUserSessions(UUID userId, SessionRevokedReason reason) {
+        // Read first: the bulk update cannot return the sessions it revoked
+        List<UUID> sessionIds = sessionRepository.findActiveIdsByUserId(userId);
         sessionRepository.revokeAllActiveSessionsByUserId(userId, reason);
         refreshTokenRepository.revokeTokensByUserId(userId);
+        securityEpochService.bumpEpoch(userId);
+        sessionIds.forEach(sessionExpiryManager::unregister);
     }
 
     /**
-     * Revokes tokens for a session in an independent transaction.
+     * Revokes tokens for a session. Joins the caller's transaction rather than taking a second connection.
      */
     @Override
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @Transactional
     public void revokeSessionTokens(UUID sessionId) {
         refreshTokenRepository.revokeTokensBySessionId(sessionId);
+        revokedSessionRegistry.addAfterCommit(sessionId);
     }
 }
\ No newline at end of file
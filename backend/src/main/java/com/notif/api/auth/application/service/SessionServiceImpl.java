@@ -4,20 +4,17 @@ import com.notif.api.auth.application.dto.SessionDto;
 import com.notif.api.auth.domain.exception.SessionExpiredException;
 import com.notif.api.auth.domain.exception.SessionNotFoundException;
 import com.notif.api.auth.domain.exception.SessionRevokedException;
-import com.notif.api.auth.domain.model.Device;
 import com.notif.api.auth.domain.model.Session;
 import com.notif.api.auth.domain.model.SessionRevokedReason;
 import com.notif.api.auth.domain.model.SessionStatus;
 import com.notif.api.auth.domain.repository.SessionRepository;
-import jakarta.persistence.EntityManager;
+import com.notif.api.auth.infrastructure.activity.ActivityTracker;
+import com.notif.api.auth.infrastructure.expiry.SessionExpiryManager;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.time.Duration;
 import java.time.Instant;
-import java.util.Optional;
 import java.util.UUID;
 
 /**
@@ -28,38 +25,20 @@ import java.util.UUID;
 public class SessionServiceImpl implements SessionService {
     private final SessionRevocationService sessionRevocationService;
     private final SessionRepository sessionRepository;
-    private final EntityManager entityManager;
-
-    /**
-     * Creates a new session for a user on a specific device.
-     */
-    @Override
-    @Transactional
-    public SessionDto createSession(UUID userId, UUID deviceId, String ipAddress) {
-        Device deviceProxy = entityManager.getReference(Device.class, deviceId);
-
-        Session newSession = Session.builder()
-                .userId(userId)
-                .device(deviceProxy)
-                .ipAddress(ipAddress)
-                .revokedAt(null)
-                .revokedReason(null)
-                .expiresAt(Instant.now().plus(Duration.ofDays(Session.MAX_LIFETIME)))
-                .build();
-
-        Session savedSession = sessionRepository.save(newSession);
-
-        return mapSessionToDto(savedSession);
-    }
+    private final ActivityTracker activityTracker;
+    private final SessionExpiryManager sessionExpiryManager;
 
     /**
      * Retrieves and validates an active session.
-     * Updates last activity timestamp if valid.
+     * Records the session's activity if valid; the timestamp is written behind by the ActivityTracker and
+     * pushes out the session's idle deadline.
      */
     @Override
     @Transactional(
-            propagation = Propagation.REQUIRES_NEW,
-            noRollbackFor = SessionExpiredException.class
+            noRollbackFor = {
+                    SessionExpiredException.class,
+                    SessionRevokedException.class
+            }
     )
     public SessionDto getActiveSession(UUID sessionId) {
         Session session = sessionRepository.findById(sessionId)
@@ -68,9 +47,13 @@ public class SessionServiceImpl implements SessionService {
         Instant now = Instant.now();
 
         validateSession(session, now);
-        session.setLastActivityAt(now);
+        activityTracker.recordSessionActivity(session.getId(), now);
+        sessionExpiryManager.recordActivity(session.getId(), now, session.getExpiresAt());
+
+        SessionDto sessionDto = mapSessionToDto(session);
+        sessionDto.setLastActivityAt(now);
 
-        return mapSessionToDto(session);
+        return sessionDto;
     }
 
     /**
@@ -82,27 +65,20 @@ public class SessionServiceImpl implements SessionService {
         }
 
         if (now.isAfter(session.getExpiresAt())) {
-            // Terminate session due to absolute lifetime expiry
-            session.setStatus(SessionStatus.EXPIRED);
-            session.setRevokedReason(SessionRevokedReason.ABSOLUTE_EXPIRATION);
+            // Terminate session due to absolute lifetime expiry. Written as a statement rather than through the
+            // entity: the token revocation below clears the persistence context, which would detach the session
+            // and could drop an unflushed change to it.
+            sessionRepository.expireActiveSessionById(session.getId(), SessionRevokedReason.ABSOLUTE_EXPIRATION, now);
 
-            // Revoke tokens tied to session; Runs independently
+            // Revoke tokens tied to session; committed with the caller's transaction, which does not roll back
+            // for SessionExpiredException
             sessionRevocationService.revokeSessionTokens(session.getId());
+            sessionExpiryManager.unregister(session.getId());
 
             throw new SessionExpiredException("Your session has expired. Please log in again.");
         }
     }
 
-    /**
-     * Retrieves an active session for a given device, if present.
-     */
-    @Override
-    @Transactional(readOnly = true)
-    public Optional<SessionDto> getActiveSessionOnDevice(UUID deviceId) {
-        return sessionRepository.findByDeviceIdAndStatus(deviceId, SessionStatus.ACTIVE)
-                .map(this::mapSessionToDto);
-    }
-
     /**
      * Maps Session entity to SessionDto.
      */
@@ -3,16 +3,15 @@ package com.notif.api.auth.application.service;
 import com.notif.api.auth.api.dto.AuthenticatedUserResponse;
 import com.notif.api.auth.application.dto.DeviceDto;
 import com.notif.api.auth.application.dto.UserDeviceDto;
-import com.notif.api.auth.domain.model.Device;
 import com.notif.api.auth.domain.model.UserDevice;
 import com.notif.api.auth.domain.repository.UserDeviceRepository;
-import jakarta.persistence.EntityManager;
+import com.notif.api.auth.infrastructure.activity.ActivityTracker;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
-import java.util.Optional;
+import java.util.UUID;
 
 /**
  * Service implementation for managing user devices.
@@ -21,40 +20,35 @@ import java.util.Optional;
 @RequiredArgsConstructor
 public class UserDeviceServiceImpl implements UserDeviceService {
     private final UserDeviceRepository userDeviceRepository;
-    private final EntityManager entityManager;
+    private final ActivityTracker activityTracker;
 
+    /**
+     * Links the user to the device on login, or returns the existing link, with a single statement.
+     * The last seen timestamp of an existing link is written behind by the ActivityTracker.
+     */
     @Override
     @Transactional
     public UserDeviceDto registerLogin(AuthenticatedUserResponse user, DeviceDto device) {
-        Device deviceProxy = entityManager.getReference(Device.class, device.getId());
-
-        Optional<UserDevice> byUserIdAndDevice = userDeviceRepository.findByUserIdAndDevice(user.getId(), deviceProxy);
-        if (byUserIdAndDevice.isPresent()) {
-            UserDevice existingUserDevice = byUserIdAndDevice.get();
-            existingUserDevice.setLastSeenAt(Instant.now());
-            return mapUserDeviceToDto(existingUserDevice);
-        }
-
         String nickname = user.getFirstName() + "'s " + device.getModel();
 
-        UserDevice userDevice = UserDevice.builder()
-                .userId(user.getId())
-                .device(deviceProxy)
-                .nickname(nickname)
-                .build();
-
-        UserDevice savedUserDevice = userDeviceRepository.save(userDevice);
+        Instant now = Instant.now();
+        // Retried once: only empty when a concurrent login inserted the same link first
+        UserDevice userDevice = userDeviceRepository
+                .findOrInsert(UUID.randomUUID(), user.getId(), device.getId(), nickname, now)
+                .or(() -> userDeviceRepository.findOrInsert(UUID.randomUUID(), user.getId(), device.getId(), nickname, now))
+                .orElseThrow();
+        activityTracker.recordUserDeviceSeen(userDevice.getId(), now);
 
-        return mapUserDeviceToDto(savedUserDevice);
+        return mapUserDeviceToDto(userDevice, device);
     }
 
-    private UserDeviceDto mapUserDeviceToDto(UserDevice userDevice) {
+    private UserDeviceDto mapUserDeviceToDto(UserDevice userDevice, DeviceDto device) {
         return UserDeviceDto.builder()
                 .id(userDevice.getId())
                 .userId(userDevice.getUserId())
-                .deviceId(userDevice.getDevice().getId())
+                .deviceId(device.getId())
                 .nickname(userDevice.getNickname())
-                .userAgent(userDevice.getDevice().getUserAgent())
+                .userAgent(device.getUserAgent())
                 .lastSeenAt(userDevice.getLastSeenAt())
                 .build();
     }
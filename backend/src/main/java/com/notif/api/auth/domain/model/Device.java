@@ -9,6 +9,9 @@ import java.util.UUID;
 
 /**
  * JPA entity representing a Device in the system.
+ *
+ * What the device's user agent says about it (type, name, model, OS, browser) lives in the shared DeviceProfile,
+ * so devices with the same user agent do not each repeat it.
  */
 @Entity
 @Getter
@@ -25,18 +28,12 @@ public class Device extends BaseEntity {
     @Column(name = "device_id", nullable = false, unique = true)
     private UUID deviceId = UUID.randomUUID();
 
-    @Column(nullable = false)
-    private String type;
-
-    private String name;
-    private String model;
-    private String browser;
-    private String os;
-
-    @Column(name = "user_agent", nullable = false)
-    private String userAgent;
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "profile_id", nullable = false)
+    private DeviceProfile profile;
 
+    // Maintained by ActivityTracker (see there for why it is not updatable)
     @Builder.Default
-    @Column(name = "last_seen_at", nullable = false)
+    @Column(name = "last_seen_at", nullable = false, updatable = false)
     private Instant lastSeenAt = Instant.now();
 }
\ No newline at end of file
@@ -0,0 +1,43 @@
+package com.notif.api.auth.domain.model;
+
+import com.notif.api.auth.infrastructure.useragent.UserAgentClassifier;
+import com.notif.api.core.domain.BaseEntity;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.util.UUID;
+
+/**
+ * A distinct (normalized) user agent and its classification, shared by every Device that reported it.
+ *
+ * The id is derived from a SHA-256 hash of the normalized user agent, so a profile can be looked up or inserted
+ * without first searching by the user agent text.
+ *
+ * A profile created while only the fallback classifier was available is stored with analyzed = false; it is not
+ * cached and is reclassified once the UserAgentAnalyzer is ready (see UnknownDeviceBackfill).
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DeviceProfile extends BaseEntity {
+    @Id
+    private UUID id;
+
+    @Column(name = "user_agent", nullable = false, length = UserAgentClassifier.MAX_USER_AGENT_LENGTH)
+    private String userAgent;
+
+    @Column(nullable = false)
+    private String type;
+
+    private String name;
+    private String model;
+    private String browser;
+    private String os;
+
+    // Classified by the UserAgentAnalyzer rather than the fallback classifier
+    @Column(nullable = false)
+    private boolean analyzed;
+}
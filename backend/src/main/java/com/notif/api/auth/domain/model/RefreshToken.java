@@ -1,6 +1,7 @@
 package com.notif.api.auth.domain.model;
 
 import com.notif.api.core.domain.BaseEntity;
+import com.notif.api.core.security.TokenHasher;
 import jakarta.persistence.*;
 import lombok.*;
 
@@ -10,13 +11,19 @@ import java.util.UUID;
 /**
  * Represents a refresh token used for authentication session renewal.
  * Stores token lifecycle data including expiration and revocation status.
+ *
+ * Tokens are issued as "<id>.<expiry day>.<secret>": the id and the day of expires_at select the row by primary
+ * key within one partition, and only a hash of the secret is stored. The owning user is denormalized from the
+ * session so validation never has to load it.
+ *
+ * The session is the token family: every login opens a session, and each rotation inserts the successor into the
+ * same session and marks its predecessor used. A family therefore holds at most one live (unused, unrevoked)
+ * token, and revocation only needs to touch live tokens, found through partial indexes.
+ *
+ * The table is range-partitioned by expires_at and its indexes are defined in schema.sql; expired partitions are
+ * dropped by RefreshTokenPartitionManager. expires_at is never updated, so rows never move between partitions.
  */
 @Entity
-@Table(
-        indexes = {
-                @Index(columnList = "session_id, revokedAt"),
-        }
-)
 @Getter
 @Setter
 @NoArgsConstructor
@@ -27,13 +34,17 @@ public class RefreshToken extends BaseEntity {
     @GeneratedValue(strategy = GenerationType.UUID)
     private UUID id;
 
-    @Column(name = "token_hash", nullable = false, unique = true)
-    private String token;
+    // Raw SHA-256 of the token secret (32 bytes, bytea)
+    @Column(name = "token_hash", nullable = false, length = TokenHasher.HASH_BYTES)
+    private byte[] token;
 
     @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "session_id", nullable = false)
     private Session session;
 
+    @Column(name = "user_id", nullable = false)
+    private UUID userId;
+
     @Column(nullable = false)
     private Instant expiresAt;
 
@@ -55,8 +55,9 @@ public class Session extends BaseEntity {
     @Enumerated(EnumType.STRING)
     private SessionRevokedReason revokedReason;
 
+    // Maintained by ActivityTracker (see there for why it is not updatable)
     @Builder.Default
-    @Column(name = "last_activity_at", nullable = false)
+    @Column(name = "last_activity_at", nullable = false, updatable = false)
     private Instant lastActivityAt = Instant.now();
 
     @Column(name= "expires_at", nullable = false)
@@ -45,7 +45,8 @@ public class UserDevice extends BaseEntity {
     @Column(name = "first_seen_at", nullable = false)
     private Instant firstSeenAt = Instant.now();
 
+    // Maintained by ActivityTracker (see there for why it is not updatable)
     @Builder.Default
-    @Column(name = "last_seen_at", nullable = false)
+    @Column(name = "last_seen_at", nullable = false, updatable = false)
     private Instant lastSeenAt = Instant.now();
 }
\ No newline at end of file
@@ -0,0 +1,33 @@
+package com.notif.api.auth.domain.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Per-user security epoch stamped into every access token.
+ *
+ * Bumping the epoch invalidates all access tokens issued before the bump. Rows exist only for users whose epoch
+ * has been bumped at least once; a missing row means epoch 0. The counter is only ever changed through an atomic
+ * upsert, so it is deliberately not a versioned BaseEntity.
+ */
+@Entity
+@Table(name = "user_security_epoch")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UserSecurityEpoch {
+    @Id
+    @Column(name = "user_id", nullable = false)
+    private UUID userId;
+
+    @Column(nullable = false)
+    private int epoch;
+
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+}
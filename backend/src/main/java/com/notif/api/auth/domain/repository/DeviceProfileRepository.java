@@ -0,0 +1,34 @@
+package com.notif.api.auth.domain.repository;
+
+import com.notif.api.auth.domain.model.DeviceProfile;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Repository interface for DeviceProfile entity.
+ */
+public interface DeviceProfileRepository {
+    Optional<DeviceProfile> findById(UUID id);
+    Optional<DeviceProfile> findOrInsert(
+            UUID id,
+            String userAgent,
+            String type,
+            String name,
+            String model,
+            String os,
+            String browser,
+            boolean analyzed,
+            Instant now
+    );
+    int updateAnalyzedClassification(
+            UUID id,
+            String type,
+            String name,
+            String model,
+            String os,
+            String browser,
+            Instant now
+    );
+}
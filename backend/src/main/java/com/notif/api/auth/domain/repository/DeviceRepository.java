@@ -10,6 +10,7 @@ import java.util.UUID;
  */
 public interface DeviceRepository {
     Device save(Device device);
+    Device saveAndFlush(Device device);
     Optional<Device> findById(UUID id);
     Optional<Device> findByDeviceId(UUID deviceId);         // cookie lookup
     void deleteById(UUID id);
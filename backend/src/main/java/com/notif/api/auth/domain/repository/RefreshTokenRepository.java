@@ -2,16 +2,54 @@ package com.notif.api.auth.domain.repository;
 
 import com.notif.api.auth.domain.model.RefreshToken;
 
+import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 /**
  * Repository interface for RefreshToken entity.
+ *
+ * Tokens are looked up by id together with a range their expires_at falls in (the day encoded in the presented
+ * token), so Postgres only reads the one partition that can hold the row.
  */
 public interface RefreshTokenRepository {
     RefreshToken save(RefreshToken token);
-    Optional<RefreshToken> findByToken(String token);
-    Optional<RefreshToken> findByTokenWithLock(String token);
+    Optional<RefreshToken> findByIdExpiringWithin(UUID tokenId, Instant expiresFrom, Instant expiresTo);
+    Optional<UUID> rotateToken(
+            UUID tokenId,
+            Instant expiresFrom,
+            Instant expiresTo,
+            byte[] tokenHash,
+            UUID newTokenId,
+            byte[] newTokenHash,
+            Instant expiresAt,
+            Instant now
+    );
+    Optional<TokenState> findState(UUID tokenId, Instant expiresFrom, Instant expiresTo, byte[] tokenHash);
     int revokeTokensByUserId(UUID userId);
     int revokeTokensBySessionId(UUID sessionId);
+    List<UUID> openSession(
+            UUID sessionId,
+            UUID userId,
+            UUID deviceId,
+            String ipAddress,
+            Instant sessionExpiresAt,
+            UUID tokenId,
+            byte[] tokenHash,
+            Instant tokenExpiresAt,
+            String replacedReason,
+            Instant now
+    );
+
+    /**
+     * A token's lifecycle columns as currently stored, read without going through the persistence context.
+     */
+    interface TokenState {
+        UUID getSessionId();
+        UUID getUserId();
+        Instant getExpiresAt();
+        Instant getUsedAt();
+        Instant getRevokedAt();
+    }
 }
\ No newline at end of file
@@ -5,6 +5,7 @@ import com.notif.api.auth.domain.model.Session;
 import com.notif.api.auth.domain.model.SessionRevokedReason;
 import com.notif.api.auth.domain.model.SessionStatus;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -21,4 +22,7 @@ public interface SessionRepository {
     Optional<Session> findByDeviceIdAndStatus(UUID deviceId, SessionStatus status);
     int revokeActiveSessionById(UUID sessionId, SessionRevokedReason revokedReason);
     int revokeAllActiveSessionsByUserId(UUID userId, SessionRevokedReason revokedReason);
+    int expireActiveSessionById(UUID sessionId, SessionRevokedReason revokedReason, Instant now);
+    List<UUID> findActiveIdsByUserId(UUID userId);
+    List<UUID> findIdsRevokedSince(Instant since);
 }
\ No newline at end of file
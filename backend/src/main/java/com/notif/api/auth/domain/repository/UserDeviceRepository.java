@@ -3,6 +3,7 @@ package com.notif.api.auth.domain.repository;
 import com.notif.api.auth.domain.model.Device;
 import com.notif.api.auth.domain.model.UserDevice;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -15,4 +16,5 @@ public interface UserDeviceRepository {
     List<UserDevice> findByUserId(UUID userId);
     List<UserDevice> findByDevice(Device device);
     Optional<UserDevice> findByUserIdAndDevice(UUID userId, Device device);
+    Optional<UserDevice> findOrInsert(UUID id, UUID userId, UUID deviceId, String nickname, Instant seenAt);
 }
\ No newline at end of file
@@ -0,0 +1,18 @@
+package com.notif.api.auth.domain.repository;
+
+import com.notif.api.auth.domain.model.UserSecurityEpoch;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Repository interface for UserSecurityEpoch entity.
+ */
+public interface UserSecurityEpochRepository {
+    Optional<UserSecurityEpoch> findById(UUID userId);
+    List<UserSecurityEpoch> findAll();
+    List<UserSecurityEpoch> findUpdatedSince(Instant since);
+    int incrementEpoch(UUID userId);
+}
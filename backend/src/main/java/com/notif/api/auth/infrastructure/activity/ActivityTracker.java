@@ -0,0 +1,134 @@
+package com.notif.api.auth.infrastructure.activity;
+
+import com.notif.api.core.scheduling.JobDefinition;
+import com.notif.api.core.scheduling.JobScheduler;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Write-behind buffer for activity timestamps (Session.lastActivityAt, Device.lastSeenAt, UserDevice.lastSeenAt).
+ *
+ * These timestamps change on nearly every login and refresh but carry no business meaning beyond "recently
+ * active", so writing them through JPA would turn every request into a versioned UPDATE of a hot row. Instead,
+ * requests record the timestamp here, where it is coalesced per entity (latest wins), and the buffer is flushed
+ * periodically as plain batched UPDATEs outside any request transaction. Flushes never move a timestamp
+ * backwards and do not bump the entity version.
+ *
+ * The three columns are mapped with updatable = false, and this class is the only writer after insert. That is
+ * what makes the write-behind safe alongside JPA: a flush leaves the version alone, so it never fails a concurrent
+ * versioned update of the same row with an OptimisticLockException, and an entity loaded before a flush never
+ * writes its older timestamp back over the flushed one.
+ *
+ * Timestamps are at most one flush interval (auth.activity.flush-interval) stale in the database, and the buffer
+ * is drained on shutdown. The flush is a local job: each node flushes its own buffer.
+ */
+@Component
+public class ActivityTracker {
+    private static final int BATCH_SIZE = 500;
+
+    private static final String UPDATE_SESSION =
+            "UPDATE session SET last_activity_at = GREATEST(last_activity_at, ?) WHERE id = ?";
+    private static final String UPDATE_DEVICE =
+            "UPDATE device SET last_seen_at = GREATEST(last_seen_at, ?) WHERE id = ?";
+    private static final String UPDATE_USER_DEVICE =
+            "UPDATE user_device SET last_seen_at = GREATEST(last_seen_at, ?) WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Map<UUID, Instant> sessions = new ConcurrentHashMap<>();
+    private final Map<UUID, Instant> devices = new ConcurrentHashMap<>();
+    private final Map<UUID, Instant> userDevices = new ConcurrentHashMap<>();
+
+    public ActivityTracker(
+            JdbcTemplate jdbcTemplate,
+            MeterRegistry meterRegistry,
+            JobScheduler jobScheduler,
+            @Value("${auth.activity.flush-interval:PT30S}") Duration flushInterval
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        meterRegistry.gauge("auth.activity.pending", this, tracker ->
+                tracker.sessions.size() + tracker.devices.size() + tracker.userDevices.size());
+
+        jobScheduler.register(JobDefinition.builder()
+                .name("activity-flush")
+                .fixedRate(flushInterval)
+                .clustered(false)
+                .task(context -> flush())
+                .build());
+    }
+
+    public void recordSessionActivity(UUID sessionId, Instant at) {
+        sessions.merge(sessionId, at, ActivityTracker::latest);
+    }
+
+    public void recordDeviceSeen(UUID deviceId, Instant at) {
+        devices.merge(deviceId, at, ActivityTracker::latest);
+    }
+
+    public void recordUserDeviceSeen(UUID userDeviceId, Instant at) {
+        userDevices.merge(userDeviceId, at, ActivityTracker::latest);
+    }
+
+    /**
+     * Writes all buffered timestamps. Entries recorded while a flush is running are kept for the next one.
+     */
+    public synchronized void flush() {
+        flush(sessions, UPDATE_SESSION);
+        flush(devices, UPDATE_DEVICE);
+        flush(userDevices, UPDATE_USER_DEVICE);
+    }
+
+    @PreDestroy
+    void drain() {
+        flush();
+    }
+
+    private void flush(Map<UUID, Instant> buffer, String sql) {
+        List<Object[]> batch = new ArrayList<>(Math.min(buffer.size(), BATCH_SIZE));
+        for (UUID id : buffer.keySet()) {
+            // Removing returns the latest value; a newer one recorded afterwards lands in the next flush
+            Instant at = buffer.remove(id);
+            if (at == null) {
+                continue;
+            }
+
+            batch.add(new Object[]{OffsetDateTime.ofInstant(at, ZoneOffset.UTC), id});
+            if (batch.size() == BATCH_SIZE) {
+                write(buffer, sql, batch);
+                batch.clear();
+            }
+        }
+
+        if (!batch.isEmpty()) {
+            write(buffer, sql, batch);
+        }
+    }
+
+    private void write(Map<UUID, Instant> buffer, String sql, List<Object[]> batch) {
+        try {
+            jdbcTemplate.batchUpdate(sql, batch);
+        } catch (RuntimeException ex) {
+            // Put the timestamps back so they are retried on the next flush
+            for (Object[] row : batch) {
+                buffer.merge((UUID) row[1], ((OffsetDateTime) row[0]).toInstant(), ActivityTracker::latest);
+            }
+            throw ex;
+        }
+    }
+
+    private static Instant latest(Instant a, Instant b) {
+        return a.isAfter(b) ? a : b;
+    }
+}
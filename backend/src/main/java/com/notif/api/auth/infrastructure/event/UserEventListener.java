@@ -2,6 +2,7 @@ package com.notif.api.auth.infrastructure.event;
 
 import com.notif.api.auth.application.service.SessionRevocationService;
 import com.notif.api.auth.domain.model.SessionRevokedReason;
+import com.notif.api.user.domain.event.PasswordChangedEvent;
 import com.notif.api.user.domain.event.UserDeletedEvent;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.event.EventListener;
@@ -18,7 +19,7 @@ import java.util.UUID;
 @Component
 @RequiredArgsConstructor
 public class UserEventListener {
-    private SessionRevocationService sessionRevocationService;
+    private final SessionRevocationService sessionRevocationService;
 
     /**
      * Handles user password changed event asynchronously.
@@ -26,7 +27,7 @@ public class UserEventListener {
     @EventListener
     @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
     @Async
-    public void handlePasswordChangedEvent(UserDeletedEvent event) {
+    public void handlePasswordChangedEvent(PasswordChangedEvent event) {
         UUID userId = event.getUserId();
 
         // Revoke all user sessions and tokens tied the sessions
@@ -0,0 +1,110 @@
+package com.notif.api.auth.infrastructure.expiry;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Hashed timing wheel of deadlines keyed by K.
+ *
+ * Time is divided into ticks; a key is placed in the bucket (deadline tick mod wheel size) and the wheel visits
+ * one bucket per elapsed tick, so scheduling and expiry are O(1) regardless of how many keys are tracked. Deadlines
+ * further away than one revolution simply stay in their bucket until their tick comes around.
+ *
+ * The current deadline of each key lives in a map, not in the bucket. Moving a deadline later (the common case,
+ * e.g. on activity) therefore only updates the map; the key is moved to its new bucket lazily, when its old bucket
+ * is visited. Cancelled keys are dropped the same way.
+ */
+public class HashedTimingWheel<K> {
+    private final long tickMillis;
+    private final List<K>[] buckets;
+    private final Map<K, Long> deadlines = new ConcurrentHashMap<>();
+    // Next tick whose bucket has not been visited yet
+    private long currentTick;
+
+    @SuppressWarnings("unchecked")
+    public HashedTimingWheel(long tickMillis, int wheelSize, long startMillis) {
+        this.tickMillis = tickMillis;
+        this.buckets = new List[wheelSize];
+        for (int i = 0; i < wheelSize; i++) {
+            buckets[i] = new ArrayList<>();
+        }
+        this.currentTick = startMillis / tickMillis;
+    }
+
+    /**
+     * Sets the key's deadline, replacing any earlier one. Deadlines already past are returned by the next advance.
+     */
+    public void schedule(K key, long deadlineMillis) {
+        Long previous = deadlines.put(key, deadlineMillis);
+        // A later deadline is picked up lazily from the old bucket; an earlier one needs its own bucket entry
+        if (previous == null || deadlineMillis < previous) {
+            addToBucket(key, deadlineMillis);
+        }
+    }
+
+    /**
+     * Moves the key's deadline later; never earlier. Ignored for keys that are not scheduled. Lock-free.
+     */
+    public void postpone(K key, long deadlineMillis) {
+        deadlines.computeIfPresent(key, (k, current) -> Math.max(current, deadlineMillis));
+    }
+
+    public void cancel(K key) {
+        deadlines.remove(key);
+    }
+
+    public int size() {
+        return deadlines.size();
+    }
+
+    /**
+     * Advances the wheel to nowMillis and returns the keys whose deadline has passed. Returned keys are no longer
+     * scheduled.
+     */
+    public synchronized List<K> advance(long nowMillis) {
+        List<K> expired = new ArrayList<>();
+        long targetTick = nowMillis / tickMillis;
+        // Visit each bucket at most once, even after a long pause
+        long lastTick = Math.min(targetTick, currentTick + buckets.length - 1);
+
+        for (long tick = currentTick; tick <= lastTick; tick++) {
+            int index = (int) Math.floorMod(tick, (long) buckets.length);
+            List<K> bucket = buckets[index];
+            buckets[index] = new ArrayList<>();
+
+            for (K key : bucket) {
+                Long deadline = deadlines.get(key);
+                if (deadline == null) {
+                    continue; // Cancelled, or already expired through a duplicate entry
+                }
+
+                if (deadline / tickMillis <= targetTick) {
+                    if (deadlines.remove(key, deadline)) {
+                        expired.add(key);
+                    } else if ((deadline = deadlines.get(key)) != null) {
+                        addToBucket(key, deadline); // Postponed concurrently
+                    }
+                } else if (bucketIndex(deadline) == index) {
+                    buckets[index].add(key); // Due in a later revolution
+                } else {
+                    addToBucket(key, deadline); // Postponed since it was placed here
+                }
+            }
+        }
+
+        currentTick = Math.max(currentTick, targetTick + 1);
+        return expired;
+    }
+
+    private synchronized void addToBucket(K key, long deadlineMillis) {
+        // Deadlines in already visited ticks go into the next bucket to be visited
+        long tick = Math.max(deadlineMillis / tickMillis, currentTick);
+        buckets[(int) Math.floorMod(tick, (long) buckets.length)].add(key);
+    }
+
+    private int bucketIndex(long deadlineMillis) {
+        return (int) Math.floorMod(deadlineMillis / tickMillis, (long) buckets.length);
+    }
+}
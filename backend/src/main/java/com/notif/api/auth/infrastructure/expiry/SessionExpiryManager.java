@@ -0,0 +1,178 @@
+package com.notif.api.auth.infrastructure.expiry;
+
+import com.notif.api.auth.infrastructure.security.RevokedSessionRegistry;
+import com.notif.api.core.constants.AppConstants;
+import com.notif.api.core.scheduling.JobDefinition;
+import com.notif.api.core.scheduling.JobScheduler;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.sql.init.dependency.DependsOnDatabaseInitialization;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Expires active sessions when they reach their idle or absolute deadline, instead of leaving them ACTIVE until
+ * they happen to be used again.
+ *
+ * A session's idle deadline is its last activity plus the refresh token lifetime (the point after which its
+ * refresh token can no longer be rotated); its absolute deadline is Session.expiresAt. The earlier of the two is
+ * tracked in a HashedTimingWheel, so registering a session, recording activity and expiring are all O(1).
+ * Due sessions are expired in batches: each batch is one statement that marks the sessions EXPIRED (reason
+ * ABSOLUTE_EXPIRATION or IDLE_TIMEOUT) and revokes their live refresh tokens.
+ *
+ * The wheel only holds what this instance has seen, so the database has the final say: a session is expired
+ * only if it is still active and actually past a deadline there. Sessions that are not (e.g., active on another
+ * instance) are rescheduled from their stored timestamps. On startup the wheel is rebuilt from all active sessions.
+ *
+ * Advancing the wheel is a local job, since each node's wheel holds its own view; expiring the same session from
+ * two nodes is harmless.
+ */
+@Component
+@DependsOnDatabaseInitialization
+public class SessionExpiryManager {
+    private static final int WHEEL_SIZE = 1024;
+    private static final int BATCH_SIZE = 500;
+
+    private static final String LOAD_ACTIVE_SESSIONS = """
+        SELECT id, last_activity_at, expires_at
+        FROM session
+        WHERE status = 'ACTIVE'
+    """;
+
+    private static final String LOAD_SESSIONS = """
+        SELECT id, last_activity_at, expires_at
+        FROM session
+        WHERE id IN (:ids)
+          AND status = 'ACTIVE'
+    """;
+
+    private static final String EXPIRE_SESSIONS = """
+        WITH expired AS (
+            UPDATE session
+            SET status = 'EXPIRED',
+                revoked_at = :now,
+                revoked_reason = CASE WHEN expires_at <= :now THEN 'ABSOLUTE_EXPIRATION' ELSE 'IDLE_TIMEOUT' END
+            WHERE id IN (:ids)
+              AND status = 'ACTIVE'
+              AND (expires_at <= :now OR last_activity_at <= :idleBefore)
+            RETURNING id
+        ), revoked_tokens AS (
+            UPDATE refresh_token
+            SET revoked_at = :now
+            WHERE session_id IN (SELECT id FROM expired)
+              AND used_at IS NULL
+              AND revoked_at IS NULL
+        )
+        SELECT id FROM expired
+    """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final RevokedSessionRegistry revokedSessionRegistry;
+    private final long idleTimeoutMillis;
+    private final HashedTimingWheel<UUID> wheel;
+    private final Counter expiredSessions;
+
+    public SessionExpiryManager(
+            NamedParameterJdbcTemplate jdbcTemplate,
+            RevokedSessionRegistry revokedSessionRegistry,
+            MeterRegistry meterRegistry,
+            JobScheduler jobScheduler,
+            @Value("${jwt.refresh-token.expiration}") long refreshTokenExpiration,
+            @Value("${auth.session.expiry.tick:PT1M}") Duration tick
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.revokedSessionRegistry = revokedSessionRegistry;
+        this.idleTimeoutMillis = refreshTokenExpiration * AppConstants.MILLISECONDS_PER_SECOND;
+        this.wheel = new HashedTimingWheel<>(tick.toMillis(), WHEEL_SIZE, System.currentTimeMillis());
+
+        this.expiredSessions = meterRegistry.counter("auth.session.expired");
+        meterRegistry.gauge("auth.session.expiry.tracked", wheel, HashedTimingWheel::size);
+
+        jobScheduler.register(JobDefinition.builder()
+                .name("session-expiry")
+                .fixedRate(tick)
+                .clustered(false)
+                .task(context -> expireDueSessions())
+                .build());
+    }
+
+    /**
+     * Rebuilds the wheel from the active sessions in the database.
+     */
+    @PostConstruct
+    void loadActiveSessions() {
+        jdbcTemplate.getJdbcTemplate().query(LOAD_ACTIVE_SESSIONS, this::schedule);
+    }
+
+    /**
+     * Starts tracking a newly opened session.
+     */
+    public void register(UUID sessionId, Instant lastActivityAt, Instant expiresAt) {
+        wheel.schedule(sessionId, deadline(lastActivityAt.toEpochMilli(), expiresAt.toEpochMilli()));
+    }
+
+    /**
+     * Pushes the session's idle deadline out. The absolute deadline still applies: the stored deadline is the
+     * earlier of the two, so it never moves past expiresAt.
+     */
+    public void recordActivity(UUID sessionId, Instant at, Instant expiresAt) {
+        wheel.postpone(sessionId, deadline(at.toEpochMilli(), expiresAt.toEpochMilli()));
+    }
+
+    /**
+     * Stops tracking a session that has ended for another reason.
+     */
+    public void unregister(UUID sessionId) {
+        wheel.cancel(sessionId);
+    }
+
+    public void expireDueSessions() {
+        List<UUID> due = wheel.advance(System.currentTimeMillis());
+        for (int from = 0; from < due.size(); from += BATCH_SIZE) {
+            expire(due.subList(from, Math.min(from + BATCH_SIZE, due.size())));
+        }
+    }
+
+    private void expire(List<UUID> batch) {
+        Instant now = Instant.now();
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("ids", batch)
+                .addValue("now", OffsetDateTime.ofInstant(now, ZoneOffset.UTC))
+                .addValue("idleBefore", OffsetDateTime.ofInstant(now.minusMillis(idleTimeoutMillis), ZoneOffset.UTC));
+
+        Set<UUID> expired = new HashSet<>(jdbcTemplate.queryForList(EXPIRE_SESSIONS, params, UUID.class));
+        expired.forEach(revokedSessionRegistry::add);
+        expiredSessions.increment(expired.size());
+
+        // Still active in the database (e.g., used through another instance): track from the stored timestamps
+        List<UUID> survivors = batch.stream().filter(id -> !expired.contains(id)).toList();
+        if (!survivors.isEmpty()) {
+            jdbcTemplate.query(LOAD_SESSIONS, Map.of("ids", survivors), this::schedule);
+        }
+    }
+
+    private void schedule(ResultSet rs) throws SQLException {
+        long lastActivityAt = rs.getTimestamp("last_activity_at").getTime();
+        long expiresAt = rs.getTimestamp("expires_at").getTime();
+        wheel.schedule(rs.getObject("id", UUID.class), deadline(lastActivityAt, expiresAt));
+    }
+
+    private long deadline(long lastActivityAtMillis, long expiresAtMillis) {
+        return Math.min(lastActivityAtMillis + idleTimeoutMillis, expiresAtMillis);
+    }
+}
@@ -0,0 +1,71 @@
+package com.notif.api.auth.infrastructure.repository;
+
+import com.notif.api.auth.domain.model.DeviceProfile;
+import com.notif.api.auth.domain.repository.DeviceProfileRepository;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Spring Data JPA repository for DeviceProfile, extending JpaRepository and DeviceProfileRepository.
+ */
+public interface JpaDeviceProfileRepository extends JpaRepository<DeviceProfile, UUID>, DeviceProfileRepository {
+    /**
+     * Inserts the profile unless one with the same id (i.e., the same user agent) exists already, and returns the
+     * stored row either way, in a single round trip. The classification only applies when a new row is inserted.
+     *
+     * Empty only if a concurrent transaction inserted the same profile after this statement's snapshot was taken;
+     * running it again returns that row.
+     */
+    @Query(value = """
+        WITH inserted AS (
+            INSERT INTO device_profile (id, user_agent, type, name, model, os, browser, analyzed,
+                                        created_at, updated_at, version)
+            VALUES (:id, :userAgent, :type, :name, :model, :os, :browser, :analyzed, :now, :now, 0)
+            ON CONFLICT (id) DO NOTHING
+            RETURNING *
+        )
+        SELECT * FROM inserted
+        UNION ALL
+        SELECT * FROM device_profile
+        WHERE id = :id
+          AND NOT EXISTS (SELECT 1 FROM inserted)
+    """, nativeQuery = true)
+    Optional<DeviceProfile> findOrInsert(
+            @Param("id") UUID id,
+            @Param("userAgent") String userAgent,
+            @Param("type") String type,
+            @Param("name") String name,
+            @Param("model") String model,
+            @Param("os") String os,
+            @Param("browser") String browser,
+            @Param("analyzed") boolean analyzed,
+            @Param("now") Instant now
+    );
+
+    /**
+     * Replaces a fallback classification with the analyzer's. Profiles that are already analyzed are left alone.
+     */
+    @Modifying
+    @Query(value = """
+        UPDATE device_profile
+        SET type = :type, name = :name, model = :model, os = :os, browser = :browser, analyzed = true,
+            updated_at = :now, version = version + 1
+        WHERE id = :id
+          AND NOT analyzed
+    """, nativeQuery = true)
+    int updateAnalyzedClassification(
+            @Param("id") UUID id,
+            @Param("type") String type,
+            @Param("name") String name,
+            @Param("model") String model,
+            @Param("os") String os,
+            @Param("browser") String browser,
+            @Param("now") Instant now
+    );
+}
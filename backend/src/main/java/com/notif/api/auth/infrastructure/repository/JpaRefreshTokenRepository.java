@@ -2,14 +2,15 @@ package com.notif.api.auth.infrastructure.repository;
 
 import com.notif.api.auth.domain.model.RefreshToken;
 import com.notif.api.auth.domain.repository.RefreshTokenRepository;
-import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -17,26 +18,154 @@ import java.util.UUID;
  * Spring Data JPA repository for RefreshToken, extending JpaRepository and RefreshTokenRepository.
  */
 @Repository
-public interface JpaRefreshTokenRepository extends JpaRepository<RefreshToken, Long>, RefreshTokenRepository {
-    @Lock(LockModeType.PESSIMISTIC_WRITE)
-    @Query("SELECT r FROM RefreshToken r WHERE r.token = :token")
-    Optional<RefreshToken> findByTokenWithLock(@Param("token") String token);
+public interface JpaRefreshTokenRepository extends JpaRepository<RefreshToken, UUID>, RefreshTokenRepository {
+    /**
+     * Consumes the token and issues its successor as a single atomic compare-and-set: the token is marked used
+     * only if it is still unused and unrevoked, and the successor is inserted only if that update matched.
+     * Concurrent callers never wait on row locks; exactly one of them wins.
+     *
+     * Returns the session ID of the consumed token, or empty if the token was not (or no longer) consumable.
+     */
+    @Transactional
+    @Query(value = """
+        WITH consumed AS (
+            UPDATE refresh_token
+            SET used_at = :now
+            WHERE id = :tokenId
+              AND expires_at >= :expiresFrom
+              AND expires_at < :expiresTo
+              AND token_hash = :tokenHash
+              AND used_at IS NULL
+              AND revoked_at IS NULL
+            RETURNING session_id, user_id
+        ), successor AS (
+            INSERT INTO refresh_token (id, token_hash, session_id, user_id, expires_at, created_at, updated_at, version)
+            SELECT :newTokenId, :newTokenHash, session_id, user_id, :expiresAt, :now, :now, 0
+            FROM consumed
+        )
+        SELECT session_id FROM consumed
+    """, nativeQuery = true)
+    Optional<UUID> rotateToken(
+            @Param("tokenId") UUID tokenId,
+            @Param("expiresFrom") Instant expiresFrom,
+            @Param("expiresTo") Instant expiresTo,
+            @Param("tokenHash") byte[] tokenHash,
+            @Param("newTokenId") UUID newTokenId,
+            @Param("newTokenHash") byte[] newTokenHash,
+            @Param("expiresAt") Instant expiresAt,
+            @Param("now") Instant now
+    );
 
-    @Modifying(clearAutomatically = true)
+    @Query("""
+        SELECT t
+        FROM RefreshToken t
+        WHERE t.id = :tokenId
+          AND t.expiresAt >= :expiresFrom
+          AND t.expiresAt < :expiresTo
+    """)
+    Optional<RefreshToken> findByIdExpiringWithin(
+            @Param("tokenId") UUID tokenId,
+            @Param("expiresFrom") Instant expiresFrom,
+            @Param("expiresTo") Instant expiresTo
+    );
+
+    /**
+     * Reads the token's state as it is stored now. Selecting columns rather than the entity bypasses any instance
+     * already in the persistence context, which a native statement such as rotateToken leaves stale.
+     */
+    @Query("""
+        SELECT t.session.id AS sessionId,
+               t.userId AS userId,
+               t.expiresAt AS expiresAt,
+               t.usedAt AS usedAt,
+               t.revokedAt AS revokedAt
+        FROM RefreshToken t
+        WHERE t.id = :tokenId
+          AND t.expiresAt >= :expiresFrom
+          AND t.expiresAt < :expiresTo
+          AND t.token = :tokenHash
+    """)
+    Optional<TokenState> findState(
+            @Param("tokenId") UUID tokenId,
+            @Param("expiresFrom") Instant expiresFrom,
+            @Param("expiresTo") Instant expiresTo,
+            @Param("tokenHash") byte[] tokenHash
+    );
+
+    /**
+     * Revokes the live token of each of the user's token families (sessions). Used tokens are left as they are:
+     * they can no longer be rotated, and a reuse of one is caught by the session check.
+     * Served by the partial index on live tokens, so the cost is independent of the user's token history.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
     @Query("""
         UPDATE RefreshToken t
         SET t.revokedAt = CURRENT_TIMESTAMP
-        WHERE t.session.userId = :userId
+        WHERE t.userId = :userId
+          AND t.usedAt IS NULL
           AND t.revokedAt IS NULL
     """)
     int revokeTokensByUserId(@Param("userId") UUID userId);
 
-    @Modifying(clearAutomatically = true)
+    /**
+     * Revokes the live token of the session's token family.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
     @Query("""
         UPDATE RefreshToken t
         SET t.revokedAt = CURRENT_TIMESTAMP
         WHERE t.session.id = :sessionId
+          AND t.usedAt IS NULL
           AND t.revokedAt IS NULL
     """)
     int revokeTokensBySessionId(@Param("sessionId") UUID sessionId);
+
+    /**
+     * Opens a session on a device with its first refresh token, replacing the device's active session, in a
+     * single round trip: the active session on the device and its tokens are revoked, then the new session and
+     * token are inserted. All parts run against the same snapshot, so the new session is never revoked.
+     *
+     * Returns the IDs of the revoked sessions.
+     */
+    @Transactional
+    @Query(value = """
+        WITH revoked_sessions AS (
+            UPDATE session
+            SET status = 'REVOKED',
+                revoked_at = :now,
+                revoked_reason = :replacedReason
+            WHERE device_id = :deviceId
+              AND status = 'ACTIVE'
+            RETURNING id
+        ), revoked_tokens AS (
+            UPDATE refresh_token
+            SET revoked_at = :now
+            WHERE session_id IN (SELECT id FROM revoked_sessions)
+              AND used_at IS NULL
+              AND revoked_at IS NULL
+        ), new_session AS (
+            INSERT INTO session (id, user_id, device_id, ip_address, status, last_activity_at, expires_at,
+                                 created_at, updated_at, version)
+            VALUES (:sessionId, :userId, :deviceId, CAST(:ipAddress AS varchar), 'ACTIVE', :now, :sessionExpiresAt,
+                    :now, :now, 0)
+            RETURNING id
+        ), new_token AS (
+            INSERT INTO refresh_token (id, token_hash, session_id, user_id, expires_at, created_at, updated_at, version)
+            SELECT :tokenId, :tokenHash, id, :userId, :tokenExpiresAt, :now, :now, 0
+            FROM new_session
+        )
+        SELECT id FROM revoked_sessions
+    """, nativeQuery = true)
+    List<UUID> openSession(
+            @Param("sessionId") UUID sessionId,
+            @Param("userId") UUID userId,
+            @Param("deviceId") UUID deviceId,
+            @Param("ipAddress") String ipAddress,
+            @Param("sessionExpiresAt") Instant sessionExpiresAt,
+            @Param("tokenId") UUID tokenId,
+            @Param("tokenHash") byte[] tokenHash,
+            @Param("tokenExpiresAt") Instant tokenExpiresAt,
+            @Param("replacedReason") String replacedReason,
+            @Param("now") Instant now
+    );
 }
\ No newline at end of file
@@ -8,13 +8,15 @@ import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
+import java.util.List;
 import java.util.UUID;
 
 /**
  * Spring Data JPA repository for Session, extending JpaRepository and SessionRepository.
  */
 public interface JpaSessionRepository extends JpaRepository<Session, UUID>, SessionRepository {
-    @Modifying(clearAutomatically = true)
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
     @Query("""
         UPDATE Session s
         SET s.status = com.notif.api.auth.domain.model.SessionStatus.REVOKED,
@@ -28,7 +30,7 @@ public interface JpaSessionRepository extends JpaRepository<Session, UUID>, Sess
             @Param("revokedReason") SessionRevokedReason reason
     );
 
-    @Modifying(clearAutomatically = true)
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
     @Query("""
         UPDATE Session s
         SET s.status = com.notif.api.auth.domain.model.SessionStatus.REVOKED,
@@ -41,4 +43,30 @@ public interface JpaSessionRepository extends JpaRepository<Session, UUID>, Sess
             @Param("userId") UUID userId,
             @Param("revokedReason") SessionRevokedReason reason
     );
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+        UPDATE Session s
+        SET s.status = com.notif.api.auth.domain.model.SessionStatus.EXPIRED,
+            s.revokedAt = :now,
+            s.revokedReason = :revokedReason
+        WHERE s.id = :sessionId
+          AND s.status = com.notif.api.auth.domain.model.SessionStatus.ACTIVE
+    """)
+    int expireActiveSessionById(
+            @Param("sessionId") UUID sessionId,
+            @Param("revokedReason") SessionRevokedReason reason,
+            @Param("now") Instant now
+    );
+
+    @Query("""
+        SELECT s.id
+        FROM Session s
+        WHERE s.userId = :userId
+          AND s.status = com.notif.api.auth.domain.model.SessionStatus.ACTIVE
+    """)
+    List<UUID> findActiveIdsByUserId(@Param("userId") UUID userId);
+
+    @Query("SELECT s.id FROM Session s WHERE s.revokedAt >= :since")
+    List<UUID> findIdsRevokedSince(@Param("since") Instant since);
 }
\ No newline at end of file
@@ -3,11 +3,47 @@ package com.notif.api.auth.infrastructure.repository;
 import com.notif.api.auth.domain.model.UserDevice;
 import com.notif.api.auth.domain.repository.UserDeviceRepository;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.util.Optional;
 import java.util.UUID;
 
 /**
  * Spring Data JPA repository for UserDevice, extending JpaRepository and UserDeviceRepository.
  */
 public interface JpaUserDeviceRepository extends JpaRepository<UserDevice, UUID>, UserDeviceRepository {
+    /**
+     * Links the user to the device if not linked yet and returns the link, in a single round trip. Existing links
+     * are only read, never rewritten; their last_seen_at is written behind by the ActivityTracker.
+     * The id and nickname only apply when a new row is inserted.
+     *
+     * Empty only if a concurrent transaction inserted the same link after this statement's snapshot was taken;
+     * running it again returns that row.
+     */
+    @Transactional
+    @Query(value = """
+        WITH inserted AS (
+            INSERT INTO user_device (id, user_id, device_id, nickname, trusted, first_seen_at, last_seen_at,
+                                     created_at, updated_at, version)
+            VALUES (:id, :userId, :deviceId, :nickname, true, :seenAt, :seenAt, :seenAt, :seenAt, 0)
+            ON CONFLICT (user_id, device_id) DO NOTHING
+            RETURNING *
+        )
+        SELECT * FROM inserted
+        UNION ALL
+        SELECT * FROM user_device
+        WHERE user_id = :userId
+          AND device_id = :deviceId
+          AND NOT EXISTS (SELECT 1 FROM inserted)
+    """, nativeQuery = true)
+    Optional<UserDevice> findOrInsert(
+            @Param("id") UUID id,
+            @Param("userId") UUID userId,
+            @Param("deviceId") UUID deviceId,
+            @Param("nickname") String nickname,
+            @Param("seenAt") Instant seenAt
+    );
 }
\ No newline at end of file
@@ -0,0 +1,31 @@
+package com.notif.api.auth.infrastructure.repository;
+
+import com.notif.api.auth.domain.model.UserSecurityEpoch;
+import com.notif.api.auth.domain.repository.UserSecurityEpochRepository;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Spring Data JPA repository for UserSecurityEpoch, extending JpaRepository and UserSecurityEpochRepository.
+ */
+public interface JpaUserSecurityEpochRepository
+        extends JpaRepository<UserSecurityEpoch, UUID>, UserSecurityEpochRepository {
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = """
+        INSERT INTO user_security_epoch (user_id, epoch, updated_at)
+        VALUES (:userId, 1, CURRENT_TIMESTAMP)
+        ON CONFLICT (user_id) DO UPDATE
+        SET epoch = user_security_epoch.epoch + 1,
+            updated_at = CURRENT_TIMESTAMP
+    """, nativeQuery = true)
+    int incrementEpoch(@Param("userId") UUID userId);
+
+    @Query("SELECT e FROM UserSecurityEpoch e WHERE e.updatedAt >= :since")
+    List<UserSecurityEpoch> findUpdatedSince(@Param("since") Instant since);
+}
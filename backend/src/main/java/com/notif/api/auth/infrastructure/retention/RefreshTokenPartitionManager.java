@@ -0,0 +1,318 @@
+package com.notif.api.auth.infrastructure.retention;
+
+import com.notif.api.core.scheduling.JobDefinition;
+import com.notif.api.core.scheduling.JobScheduler;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.sql.init.dependency.DependsOnDatabaseInitialization;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Retention for refresh tokens and sessions.
+ *
+ * refresh_token is range-partitioned by expires_at into daily partitions (see schema.sql). Partitions are created
+ * ahead for the longest refresh token lifetime, and a partition is dropped as a whole once every token in it has
+ * been expired for longer than auth.retention.refresh-token. Dropping a partition reclaims its space immediately,
+ * without the row deletes, dead tuples and index bloat a DELETE would leave behind.
+ *
+ * Tokens with no daily partition (e.g., issued while partitions were missing) land in the default partition.
+ * Creating a day's partition first moves that day's rows out of it, since Postgres refuses to create a partition
+ * for a range the default partition already holds rows in. Expired rows left in the default partition are
+ * deleted in batches under the same retention. A partition that cannot be created or dropped is counted and
+ * skipped, so one bad day does not stop the rest of the maintenance.
+ *
+ * Ended sessions (revoked or expired for longer than auth.retention.session) are deleted in batches once none of
+ * their tokens remain.
+ *
+ * Upcoming partitions are created at startup; the full maintenance runs as a clustered job on auth.retention.cron,
+ * so only one node drops partitions. Reclaimed space is published as "auth.retention.*" meters and returned as a
+ * RetentionReport.
+ */
+@Component
+@DependsOnDatabaseInitialization
+public class RefreshTokenPartitionManager {
+    private static final String PARENT_TABLE = "refresh_token";
+    private static final Pattern PARTITION_NAME = Pattern.compile(PARENT_TABLE + "_p(\\d{8})");
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.BASIC_ISO_DATE;
+    private static final int SESSION_DELETE_BATCH_SIZE = 1000;
+    private static final int DEFAULT_PARTITION_DELETE_BATCH_SIZE = 1000;
+
+    private static final String LIST_PARTITIONS = """
+        SELECT c.relname
+        FROM pg_inherits i
+        JOIN pg_class c ON c.oid = i.inhrelid
+        WHERE i.inhparent = 'refresh_token'::regclass
+    """;
+
+    // Taken by every partition change, so nodes starting up together do not create the same partition twice
+    private static final String LOCK_PARTITIONS = "SELECT pg_advisory_xact_lock(hashtext('refresh_token_partitions'))";
+
+    private static final String MOVE_FROM_DEFAULT_PARTITION = """
+        WITH moved AS (
+            DELETE FROM refresh_token_default
+            WHERE expires_at >= ?
+              AND expires_at < ?
+            RETURNING *
+        )
+        INSERT INTO %s
+        SELECT * FROM moved
+    """;
+
+    private static final String DELETE_EXPIRED_FROM_DEFAULT_PARTITION = """
+        DELETE FROM refresh_token_default
+        WHERE ctid = ANY (ARRAY(
+            SELECT ctid
+            FROM refresh_token_default
+            WHERE expires_at < ?
+            LIMIT ?
+        ))
+    """;
+
+    private static final String DELETE_ENDED_SESSIONS = """
+        DELETE FROM session
+        WHERE id IN (
+            SELECT s.id
+            FROM session s
+            WHERE (s.expires_at < ? OR (s.status <> 'ACTIVE' AND s.revoked_at < ?))
+              AND NOT EXISTS (SELECT 1 FROM refresh_token t WHERE t.session_id = s.id)
+            LIMIT ?
+        )
+    """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration tokenRetention;
+    private final Duration sessionRetention;
+    // Partitions are created this many days ahead so every newly issued token has one
+    private final int daysAhead;
+
+    private final Counter partitionsDropped;
+    private final Counter reclaimedBytes;
+    private final Counter partitionFailures;
+    private final Counter defaultPartitionDeleted;
+    private final Counter sessionsDeleted;
+
+    public RefreshTokenPartitionManager(
+            JdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${auth.retention.refresh-token:P7D}") Duration tokenRetention,
+            @Value("${auth.retention.session:P30D}") Duration sessionRetention,
+            @Value("${jwt.refresh-token.expiration}") long refreshTokenExpiration,
+            @Value("${auth.retention.cron:0 15 3 * * *}") String cron,
+            JobScheduler jobScheduler
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.tokenRetention = tokenRetention;
+        this.sessionRetention = sessionRetention;
+        this.daysAhead = (int) Duration.ofSeconds(refreshTokenExpiration).toDaysPart() + 2;
+
+        this.partitionsDropped = meterRegistry.counter("auth.retention.partitions.dropped");
+        this.reclaimedBytes = meterRegistry.counter("auth.retention.reclaimed.bytes");
+        this.partitionFailures = meterRegistry.counter("auth.retention.partitions.failed");
+        this.defaultPartitionDeleted = meterRegistry.counter("auth.retention.default-partition.deleted");
+        this.sessionsDeleted = meterRegistry.counter("auth.retention.sessions.deleted");
+
+        jobScheduler.register(JobDefinition.builder()
+                .name("refresh-token-retention")
+                .cron(cron)
+                .clustered(true)
+                .task(context -> maintain(context::heartbeat))
+                .build());
+    }
+
+    @PostConstruct
+    void initialize() {
+        // Partitions must exist before the first token is issued
+        createUpcomingPartitions(LocalDate.now(ZoneOffset.UTC), existingPartitions(), () -> {});
+    }
+
+    /**
+     * Creates upcoming partitions, drops expired ones, purges expired rows from the default partition and deletes
+     * ended sessions.
+     */
+    public RetentionReport maintain() {
+        return maintain(() -> {});
+    }
+
+    /**
+     * Runs the maintenance, calling the heartbeat between partitions and between delete batches so a long run keeps
+     * its job lease.
+     */
+    synchronized RetentionReport maintain(Runnable heartbeat) {
+        List<LocalDate> existing = existingPartitions();
+        PartitionChanges created = createUpcomingPartitions(LocalDate.now(ZoneOffset.UTC), existing, heartbeat);
+
+        // A partition holds tokens expiring on its day; it can go once the whole day is past the retention window
+        Instant dropBefore = Instant.now().minus(tokenRetention);
+        int dropped = 0;
+        int failed = created.failed();
+        long reclaimed = 0;
+        for (LocalDate day : existing) {
+            if (!startOf(day.plusDays(1)).isAfter(dropBefore)) {
+                heartbeat.run();
+                try {
+                    reclaimed += dropPartition(day);
+                    dropped++;
+                } catch (DataAccessException ex) {
+                    partitionFailures.increment();
+                    failed++;
+                }
+            }
+        }
+
+        long deletedFromDefault = deleteExpiredFromDefaultPartition(dropBefore, heartbeat);
+        int deletedSessions = deleteEndedSessions(Instant.now().minus(sessionRetention), heartbeat);
+
+        partitionsDropped.increment(dropped);
+        reclaimedBytes.increment(reclaimed);
+        defaultPartitionDeleted.increment(deletedFromDefault);
+        sessionsDeleted.increment(deletedSessions);
+
+        return new RetentionReport(
+                created.succeeded(),
+                dropped,
+                failed,
+                reclaimed,
+                deletedFromDefault,
+                deletedSessions
+        );
+    }
+
+    private List<LocalDate> existingPartitions() {
+        return jdbcTemplate.queryForList(LIST_PARTITIONS, String.class).stream()
+                .map(PARTITION_NAME::matcher)
+                .filter(Matcher::matches)
+                .map(matcher -> LocalDate.parse(matcher.group(1), PARTITION_SUFFIX))
+                .toList();
+    }
+
+    private PartitionChanges createUpcomingPartitions(LocalDate today, List<LocalDate> existing, Runnable heartbeat) {
+        int created = 0;
+        int failed = 0;
+        for (LocalDate day = today; !day.isAfter(today.plusDays(daysAhead)); day = day.plusDays(1)) {
+            if (!existing.contains(day)) {
+                heartbeat.run();
+                try {
+                    createPartition(day);
+                    created++;
+                } catch (DataAccessException ex) {
+                    failed++;
+                }
+            }
+        }
+
+        partitionFailures.increment(failed);
+        return new PartitionChanges(created, failed);
+    }
+
+    /**
+     * Creates the day's partition as a standalone table, moves the day's rows out of the default partition into it
+     * and attaches it, all in one transaction.
+     */
+    private void createPartition(LocalDate day) {
+        String partition = partitionName(day);
+        OffsetDateTime from = OffsetDateTime.ofInstant(startOf(day), ZoneOffset.UTC);
+        OffsetDateTime to = OffsetDateTime.ofInstant(startOf(day.plusDays(1)), ZoneOffset.UTC);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.execute(LOCK_PARTITIONS);
+            if (jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NOT NULL", Boolean.class, partition)) {
+                return;
+            }
+
+            jdbcTemplate.execute("CREATE TABLE %s (LIKE %s INCLUDING DEFAULTS INCLUDING CONSTRAINTS)".formatted(
+                    partition,
+                    PARENT_TABLE
+            ));
+            jdbcTemplate.update(MOVE_FROM_DEFAULT_PARTITION.formatted(partition), from, to);
+            jdbcTemplate.execute("ALTER TABLE %s ATTACH PARTITION %s FOR VALUES FROM ('%s') TO ('%s')".formatted(
+                    PARENT_TABLE,
+                    partition,
+                    startOf(day),
+                    startOf(day.plusDays(1))
+            ));
+        });
+    }
+
+    /**
+     * Detaches and drops the partition. Returns the number of bytes it occupied, including indexes and TOAST.
+     */
+    private long dropPartition(LocalDate day) {
+        String partition = partitionName(day);
+        Long size = jdbcTemplate.queryForObject("SELECT pg_total_relation_size(?::regclass)", Long.class, partition);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.execute(LOCK_PARTITIONS);
+            jdbcTemplate.execute("ALTER TABLE %s DETACH PARTITION %s".formatted(PARENT_TABLE, partition));
+            jdbcTemplate.execute("DROP TABLE %s".formatted(partition));
+        });
+
+        return size != null ? size : 0;
+    }
+
+    private long deleteExpiredFromDefaultPartition(Instant cutoff, Runnable heartbeat) {
+        OffsetDateTime before = OffsetDateTime.ofInstant(cutoff, ZoneOffset.UTC);
+        long total = 0;
+        int deleted;
+        do {
+            heartbeat.run();
+            deleted = jdbcTemplate.update(
+                    DELETE_EXPIRED_FROM_DEFAULT_PARTITION,
+                    before,
+                    DEFAULT_PARTITION_DELETE_BATCH_SIZE
+            );
+            total += deleted;
+        } while (deleted == DEFAULT_PARTITION_DELETE_BATCH_SIZE);
+
+        return total;
+    }
+
+    private int deleteEndedSessions(Instant cutoff, Runnable heartbeat) {
+        OffsetDateTime before = OffsetDateTime.ofInstant(cutoff, ZoneOffset.UTC);
+        int total = 0;
+        int deleted;
+        do {
+            heartbeat.run();
+            deleted = jdbcTemplate.update(DELETE_ENDED_SESSIONS, before, before, SESSION_DELETE_BATCH_SIZE);
+            total += deleted;
+        } while (deleted == SESSION_DELETE_BATCH_SIZE);
+
+        return total;
+    }
+
+    private static String partitionName(LocalDate day) {
+        return PARENT_TABLE + "_p" + PARTITION_SUFFIX.format(day);
+    }
+
+    private static Instant startOf(LocalDate day) {
+        return day.atStartOfDay(ZoneOffset.UTC).toInstant();
+    }
+
+    private record PartitionChanges(int succeeded, int failed) {}
+
+    public record RetentionReport(
+            int partitionsCreated,
+            int partitionsDropped,
+            int partitionsFailed,
+            long reclaimedBytes,
+            long defaultPartitionRowsDeleted,
+            int sessionsDeleted
+    ) {}
+}
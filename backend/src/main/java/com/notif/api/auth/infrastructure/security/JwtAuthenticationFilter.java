@@ -1,5 +1,6 @@
 package com.notif.api.auth.infrastructure.security;
 
+import com.notif.api.auth.application.service.SecurityEpochService;
 import com.notif.api.core.exception.CustomAuthenticationException;
 import com.notif.api.core.exception.ErrorCode;
 import io.jsonwebtoken.*;
@@ -9,6 +10,7 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpHeaders;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -35,6 +37,12 @@ import java.util.UUID;
  * Exceptions are thrown to be handled by the AuthenticationEntryPoint, resulting in proper 401 Unauthorized
  * responses with contextual error information.
  *
+ * With jwt.access-token.self-contained enabled, the principal and its account state are read from the token
+ * claims instead of the user store, so authenticating a request needs no database query. Account state changes
+ * then take effect once the access token expires, while security events that bump the user's security epoch
+ * (password change, account deletion, logout from all devices) reject older tokens immediately. Tokens bound
+ * to a session that was logged out or revoked are rejected through the in-memory RevokedSessionRegistry.
+ *
  * This filter works together with Spring Security's filter chain and does not handle business-level
  * authorization; role or access checks should be enforced via Spring Security configuration or
  * method-level annotations.
@@ -46,6 +54,12 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private final NotifUserDetailsService userDetailsService;
     private final UserAccessValidator userAccessValidator;
     private final JwtAuthenticationEntryPoint authenticationEntryPoint;
+    private final SecurityEpochService securityEpochService;
+    private final RevokedSessionRegistry revokedSessionRegistry;
+
+    // When enabled, the principal is built from token claims instead of loading the user on every request
+    @Value("${jwt.access-token.self-contained:false}")
+    private boolean selfContainedTokens;
 
     @Override
     protected void doFilterInternal(
@@ -63,14 +77,23 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             }
 
             final String jwtToken = authHeader.substring(7);
-            final String userId = jwtTokenProvider.extractSubject(jwtToken);
+            // Parse and verify the token once; every later check reads from the verified token
+            final VerifiedToken verifiedToken = jwtTokenProvider.verify(jwtToken);
+            final String userId = verifiedToken.getSubject();
 
             if (userId != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                NotifUserDetails userDetails = (NotifUserDetails) userDetailsService.loadUserById(UUID.fromString(userId));
+                // Reject tokens issued before the user's last security event (password change, logout-all, etc.)
+                validateSecurityEpoch(verifiedToken);
+                // Reject tokens whose session was logged out or revoked
+                validateSession(verifiedToken);
+
+                NotifUserDetails userDetails = isSelfContained(verifiedToken)
+                        ? userDetailsService.loadUserFromToken(verifiedToken)
+                        : (NotifUserDetails) userDetailsService.loadUserById(UUID.fromString(userId));
                 // Validate user access
                 userAccessValidator.validateUserAccess(userDetails);
 
-                if (jwtTokenProvider.isTokenValid(jwtToken, userDetails)) {
+                if (jwtTokenProvider.isTokenValid(verifiedToken, userDetails)) {
                     UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
                             userDetails,
                             null,
@@ -124,6 +147,36 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
     }
 
+    private void validateSecurityEpoch(VerifiedToken token) {
+        Integer tokenEpoch = token.getClaim(JwtTokenProvider.CLAIM_SECURITY_EPOCH, Integer.class);
+        UUID userId = UUID.fromString(token.getSubject());
+
+        if (!securityEpochService.isCurrent(userId, tokenEpoch != null ? tokenEpoch : 0)) {
+            throw new CustomAuthenticationException(
+                    "Your session is no longer valid. Please log in again.",
+                    ErrorCode.AUTH_TOKEN_REVOKED
+            );
+        }
+    }
+
+    private void validateSession(VerifiedToken token) {
+        String sessionId = token.getClaim(JwtTokenProvider.CLAIM_SESSION_ID, String.class);
+
+        if (sessionId != null && revokedSessionRegistry.isRevoked(UUID.fromString(sessionId))) {
+            throw new CustomAuthenticationException(
+                    "Your session is no longer valid. Please log in again.",
+                    ErrorCode.AUTH_SESSION_INVALID
+            );
+        }
+    }
+
+    /**
+     * Tokens issued before self-contained mode was enabled lack the role claim and fall back to a user lookup.
+     */
+    private boolean isSelfContained(VerifiedToken token) {
+        return selfContainedTokens && token.getClaim(JwtTokenProvider.CLAIM_ROLE, String.class) != null;
+    }
+
     private void handleAuthenticationException(
             HttpServletRequest request,
             HttpServletResponse response,
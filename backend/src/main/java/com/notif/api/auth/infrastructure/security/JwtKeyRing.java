@@ -0,0 +1,246 @@
+package com.notif.api.auth.infrastructure.security;
+
+import com.notif.api.core.constants.AppConstants;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.codec.digest.HmacAlgorithms;
+import org.apache.commons.codec.digest.HmacUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyFactory;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Holds the keys used to sign and verify access tokens, indexed by the JWT "kid" header.
+ *
+ * HS256 (default): signing keys are derived from jwt.secret per rotation period
+ * (HMAC-SHA256(secret, period number)), so every node and every restart agree on the current key without
+ * sharing state, and the key rotates on schedule. Keys of the previous periods stay valid for verification
+ * until every token they signed has expired. Setting jwt.previous-secret keeps tokens signed under the old
+ * secret verifiable while the master secret itself is rotated. Tokens without a kid (signed with the raw secret
+ * before key IDs were introduced) are accepted for one access token lifetime after startup, so the ones issued
+ * before an upgrade run out; after that, and always in ES256 mode, they are rejected.
+ *
+ * ES256: tokens are signed with the configured EC private key, so other services can verify them with the
+ * public key alone. Retired public keys stay verifiable until removed from configuration.
+ *
+ * Resolved keys are cached per kid, so verification never derives or decodes a key more than once.
+ */
+@Component
+public class JwtKeyRing {
+    private static final String DERIVATION_LABEL = "notif-jwt-signing-key:";
+
+    private final SignatureAlgorithm algorithm;
+    private final long rotationIntervalSeconds;
+    private final long retainedPeriods;
+    // Master secrets (current and previous) keyed by fingerprint
+    private final Map<String, byte[]> hmacSecrets = new ConcurrentHashMap<>();
+    private final String currentSecretFingerprint;
+    // Tokens issued before key IDs were introduced carry no kid and were signed with the raw secret;
+    // null when they are not accepted at all
+    private final Key legacyKey;
+    private final long legacyKeyAcceptedUntilMillis;
+    private final Map<String, Key> verificationKeys = new ConcurrentHashMap<>();
+
+    private final String ecKeyId;
+    private final PrivateKey ecPrivateKey;
+
+    private volatile SigningKey currentSigningKey;
+
+    public JwtKeyRing(
+            @Value("${jwt.secret}") String secretKey,
+            @Value("${jwt.previous-secret:}") String previousSecretKey,
+            @Value("${jwt.signing-algorithm:HS256}") String algorithm,
+            @Value("${jwt.key-rotation.interval:86400}") long rotationIntervalSeconds,
+            @Value("${jwt.access-token.expiration}") long accessTokenExpiration,
+            @Value("${jwt.ec.private-key:}") String ecPrivateKey,
+            @Value("${jwt.ec.public-key:}") String ecPublicKey,
+            @Value("${jwt.ec.retired-public-keys:}") List<String> ecRetiredPublicKeys
+    ) {
+        this.algorithm = SignatureAlgorithm.forName(algorithm);
+        this.rotationIntervalSeconds = rotationIntervalSeconds;
+        // Enough past periods to cover every token still within its lifetime
+        this.retainedPeriods = accessTokenExpiration / rotationIntervalSeconds + 1;
+
+        byte[] secret = Decoders.BASE64.decode(secretKey);
+        this.legacyKey = this.algorithm == SignatureAlgorithm.HS256 ? Keys.hmacShaKeyFor(secret) : null;
+        this.legacyKeyAcceptedUntilMillis =
+                System.currentTimeMillis() + accessTokenExpiration * AppConstants.MILLISECONDS_PER_SECOND;
+        this.currentSecretFingerprint = fingerprint(secret);
+        hmacSecrets.put(currentSecretFingerprint, secret);
+        if (!previousSecretKey.isBlank()) {
+            byte[] previousSecret = Decoders.BASE64.decode(previousSecretKey);
+            hmacSecrets.put(fingerprint(previousSecret), previousSecret);
+        }
+
+        if (this.algorithm == SignatureAlgorithm.ES256) {
+            PublicKey publicKey = decodePublicKey(ecPublicKey);
+            this.ecKeyId = "ec-" + fingerprint(publicKey.getEncoded());
+            this.ecPrivateKey = decodePrivateKey(ecPrivateKey);
+            verificationKeys.put(ecKeyId, publicKey);
+            for (String retired : ecRetiredPublicKeys) {
+                if (retired.isBlank()) continue;
+                PublicKey retiredKey = decodePublicKey(retired.strip());
+                verificationKeys.put("ec-" + fingerprint(retiredKey.getEncoded()), retiredKey);
+            }
+        } else if (this.algorithm == SignatureAlgorithm.HS256) {
+            this.ecKeyId = null;
+            this.ecPrivateKey = null;
+        } else {
+            throw new IllegalStateException("Unsupported JWT signing algorithm: " + algorithm);
+        }
+    }
+
+    /**
+     * Returns the key new tokens are signed with, rotating to the next HMAC key when its period has begun.
+     */
+    public SigningKey currentSigningKey() {
+        if (algorithm == SignatureAlgorithm.ES256) {
+            SigningKey key = currentSigningKey;
+            if (key == null) {
+                key = new SigningKey(ecKeyId, ecPrivateKey, algorithm);
+                currentSigningKey = key;
+            }
+            return key;
+        }
+
+        long period = currentPeriod();
+        SigningKey key = currentSigningKey;
+        if (key == null || key.period() != period) {
+            key = rotate(period);
+        }
+        return key;
+    }
+
+    /**
+     * Resolves the verification key for a token, or fails if its kid is unknown or no longer trusted.
+     */
+    public Key resolve(String keyId) {
+        if (keyId == null) {
+            if (legacyKey == null || System.currentTimeMillis() >= legacyKeyAcceptedUntilMillis) {
+                throw new SignatureException("Token has no signing key ID.");
+            }
+            return legacyKey;
+        }
+
+        Key key = verificationKeys.get(keyId);
+        if (key == null && algorithm == SignatureAlgorithm.HS256) {
+            key = deriveIfTrusted(keyId);
+        }
+        if (key == null) {
+            throw new SignatureException("Unknown signing key.");
+        }
+        return key;
+    }
+
+    /**
+     * Key resolver used by the shared, immutable JwtParser.
+     */
+    SigningKeyResolverAdapter resolver() {
+        return new SigningKeyResolverAdapter() {
+            @Override
+            public Key resolveSigningKey(JwsHeader header, Claims claims) {
+                return resolve(header.getKeyId());
+            }
+        };
+    }
+
+    private synchronized SigningKey rotate(long period) {
+        SigningKey key = currentSigningKey;
+        if (key != null && key.period() == period) {
+            return key;
+        }
+
+        String keyId = keyId(currentSecretFingerprint, period);
+        Key derived = verificationKeys.computeIfAbsent(keyId, id -> deriveKey(hmacSecrets.get(currentSecretFingerprint), period));
+        key = new SigningKey(keyId, derived, algorithm, period);
+        currentSigningKey = key;
+
+        // Drop keys whose tokens have all expired
+        long oldest = period - retainedPeriods;
+        verificationKeys.keySet().removeIf(id -> periodOf(id) < oldest);
+
+        return key;
+    }
+
+    private Key deriveIfTrusted(String keyId) {
+        int separator = keyId.lastIndexOf('-');
+        if (separator <= 0) {
+            return null;
+        }
+
+        byte[] secret = hmacSecrets.get(keyId.substring(0, separator));
+        long period = periodOf(keyId);
+        long current = currentPeriod();
+        // Accept the next period too, to tolerate clock skew between nodes
+        if (secret == null || period < current - retainedPeriods || period > current + 1) {
+            return null;
+        }
+
+        return verificationKeys.computeIfAbsent(keyId, id -> deriveKey(secret, period));
+    }
+
+    private long currentPeriod() {
+        return System.currentTimeMillis() / AppConstants.MILLISECONDS_PER_SECOND / rotationIntervalSeconds;
+    }
+
+    private static Key deriveKey(byte[] secret, long period) {
+        return Keys.hmacShaKeyFor(new HmacUtils(HmacAlgorithms.HMAC_SHA_256, secret).hmac(DERIVATION_LABEL + period));
+    }
+
+    private static String keyId(String secretFingerprint, long period) {
+        return secretFingerprint + "-" + period;
+    }
+
+    private static long periodOf(String keyId) {
+        try {
+            return Long.parseLong(keyId.substring(keyId.lastIndexOf('-') + 1));
+        } catch (NumberFormatException ex) {
+            return Long.MIN_VALUE;
+        }
+    }
+
+    private static String fingerprint(byte[] keyMaterial) {
+        return DigestUtils.sha256Hex(keyMaterial).substring(0, 16);
+    }
+
+    private static PublicKey decodePublicKey(String base64) {
+        try {
+            return KeyFactory.getInstance("EC").generatePublic(new X509EncodedKeySpec(Decoders.BASE64.decode(base64)));
+        } catch (GeneralSecurityException ex) {
+            throw new IllegalStateException("Invalid EC public key for JWT verification.", ex);
+        }
+    }
+
+    private static PrivateKey decodePrivateKey(String base64) {
+        try {
+            return KeyFactory.getInstance("EC").generatePrivate(new PKCS8EncodedKeySpec(Decoders.BASE64.decode(base64)));
+        } catch (GeneralSecurityException ex) {
+            throw new IllegalStateException("Invalid EC private key for JWT signing.", ex);
+        }
+    }
+
+    /**
+     * Key currently used for signing along with its key ID.
+     */
+    public record SigningKey(String keyId, Key key, SignatureAlgorithm algorithm, long period) {
+        SigningKey(String keyId, Key key, SignatureAlgorithm algorithm) {
+            this(keyId, key, algorithm, -1);
+        }
+    }
+}
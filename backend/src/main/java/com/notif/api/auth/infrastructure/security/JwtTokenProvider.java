@@ -2,47 +2,73 @@ package com.notif.api.auth.infrastructure.security;
 
 import com.notif.api.core.constants.AppConstants;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.SignatureAlgorithm;
-import io.jsonwebtoken.io.Decoders;
-import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import java.security.Key;
+import java.time.Instant;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.function.Function;
 
+/**
+ * Issues and verifies JWT access tokens.
+ *
+ * Keys come from the {@link JwtKeyRing}; every token names its signing key in the "kid" header, and the parser
+ * (built once at startup) resolves the cached verification key for it.
+ *
+ * Callers on the request path should use {@link #verify(String)}, which parses and verifies the token exactly once
+ * and returns a {@link VerifiedToken} holding everything the filter chain needs.
+ */
 @Service
 public class JwtTokenProvider {
-    @Value("${jwt.secret}")
-    private String secretKey;
+    // Claims that make an access token self-contained (see NotifUserDetailsService#loadUserFromToken)
+    public static final String CLAIM_EMAIL = "email";
+    public static final String CLAIM_ROLE = "role";
+    public static final String CLAIM_GIVEN_NAME = "given_name";
+    public static final String CLAIM_FAMILY_NAME = "family_name";
+    public static final String CLAIM_ENABLED = "enabled";
+    public static final String CLAIM_ACCOUNT_NON_EXPIRED = "account_non_expired";
+    public static final String CLAIM_ACCOUNT_NON_LOCKED = "account_non_locked";
+    public static final String CLAIM_CREDENTIALS_NON_EXPIRED = "credentials_non_expired";
+    // Security epoch of the user at issuance (see SecurityEpochService)
+    public static final String CLAIM_SECURITY_EPOCH = "epoch";
+    // Session the token was issued for (see RevokedSessionRegistry)
+    public static final String CLAIM_SESSION_ID = "sid";
 
-    @Value("${jwt.access-token.expiration}")
-    private long jwtExpiration; // in seconds
+    private final JwtKeyRing keyRing;
+    private final JwtParser jwtParser;
+    private final long jwtExpiration; // in seconds
 
-    public String extractSubject(String token) {
-        return extractClaim(token, Claims::getSubject);
+    public JwtTokenProvider(
+            JwtKeyRing keyRing,
+            @Value("${jwt.access-token.expiration}") long jwtExpiration
+    ) {
+        this.keyRing = keyRing;
+        this.jwtParser = Jwts.parserBuilder()
+                .setSigningKeyResolver(keyRing.resolver())
+                .build();
+        this.jwtExpiration = jwtExpiration;
     }
 
-    public <T> T extractClaim(String token, Function<Claims, T> claimsResolver)  {
-        final Claims claims = extractAllClaims(token);
-        return claimsResolver.apply(claims);
+    /**
+     * Parses the token, verifies its signature and expiration, and returns the verified claims.
+     *
+     * @throws io.jsonwebtoken.JwtException if the token is malformed, expired, or its signature is invalid
+     */
+    public VerifiedToken verify(String token) {
+        return new VerifiedToken(jwtParser.parseClaimsJws(token).getBody());
     }
 
-    private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSignInKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+    public String extractSubject(String token) {
+        return verify(token).getSubject();
     }
 
-    private Key getSignInKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(secretKey);
-        return Keys.hmacShaKeyFor(keyBytes);
+    public <T> T extractClaim(String token, Function<Claims, T> claimsResolver)  {
+        return claimsResolver.apply(jwtParser.parseClaimsJws(token).getBody());
     }
 
     public String generateToken(NotifUserDetails userDetails) {
@@ -54,27 +80,43 @@ public class JwtTokenProvider {
     }
 
     private String buildToken(Map<String, Object> extraClaims, NotifUserDetails userDetails, long expiration) {
+        // Embed the authorization snapshot so the filter can authenticate requests without a user lookup
+        Map<String, Object> claims = new HashMap<>(extraClaims);
+        claims.put(CLAIM_EMAIL, userDetails.getUsername());
+        claims.put(CLAIM_ROLE, userDetails.getRole().name());
+        claims.put(CLAIM_GIVEN_NAME, userDetails.getFirstName());
+        claims.put(CLAIM_FAMILY_NAME, userDetails.getLastName());
+        claims.put(CLAIM_ENABLED, userDetails.isEnabled());
+        claims.put(CLAIM_ACCOUNT_NON_EXPIRED, userDetails.isAccountNonExpired());
+        claims.put(CLAIM_ACCOUNT_NON_LOCKED, userDetails.isAccountNonLocked());
+        claims.put(CLAIM_CREDENTIALS_NON_EXPIRED, userDetails.isCredentialsNonExpired());
+
+        JwtKeyRing.SigningKey signingKey = keyRing.currentSigningKey();
+
         return Jwts.builder()
-                // TODO (Authorization): Add claims for security; multi-tenancy, roles, etc
+                // TODO (Authorization): Add claims for multi-tenancy
                 .setHeaderParam("typ", "JWT")
-                .setClaims(extraClaims)
+                .setHeaderParam(JwsHeader.KEY_ID, signingKey.keyId())
+                .setClaims(claims)
                 .setSubject(userDetails.getId().toString())
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + expiration * AppConstants.MILLISECONDS_PER_SECOND))
-                .signWith(getSignInKey(), SignatureAlgorithm.HS256)
+                .signWith(signingKey.key(), signingKey.algorithm())
                 .compact();
     }
 
-    public boolean isTokenValid(String token, NotifUserDetails userDetails) {
-        final String userId = extractSubject(token);
-        return (userId.equals(userDetails.getId().toString()) && !isTokenExpired(token));
+    /**
+     * Checks an already verified token against the loaded principal without parsing it again.
+     */
+    public boolean isTokenValid(VerifiedToken token, NotifUserDetails userDetails) {
+        return (userDetails.getId().toString().equals(token.getSubject()) && !token.isExpired(Instant.now()));
     }
 
     public boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+        return verify(token).isExpired(Instant.now());
     }
 
     public Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+        return Date.from(verify(token).getExpiresAt());
     }
-}
\ No newline at end of file
+}
@@ -1,6 +1,7 @@
 package com.notif.api.auth.infrastructure.security;
 
 import com.notif.api.user.api.dto.UserAuthDetails;
+import com.notif.api.user.domain.model.Role;
 import lombok.*;
 import org.springframework.security.core.CredentialsContainer;
 import org.springframework.security.core.GrantedAuthority;
@@ -71,4 +72,22 @@ public class NotifUserDetails implements UserDetails, CredentialsContainer {
     public UUID getId() {
         return user.getId();
     }
+
+    // Exposes the role so it can be embedded into access token claims
+    public Role getRole() {
+        return user.getRole();
+    }
+
+    // Exposes the profile names so /me and login can answer without reloading the user
+    public String getFirstName() {
+        return user.getFirstName();
+    }
+
+    public String getLastName() {
+        return user.getLastName();
+    }
+
+    public String getFullName() {
+        return user.getFirstName() + " " + user.getLastName();
+    }
 }
\ No newline at end of file
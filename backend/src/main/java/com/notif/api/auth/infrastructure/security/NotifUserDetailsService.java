@@ -3,8 +3,10 @@ package com.notif.api.auth.infrastructure.security;
 import com.notif.api.core.exception.BusinessException;
 import com.notif.api.user.api.dto.UserAuthDetails;
 import com.notif.api.user.api.client.UserClient;
+import com.notif.api.user.domain.model.Role;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
@@ -16,10 +18,11 @@ import java.util.UUID;
  * authentication details from an external user service via UserClient.
  *
  * Acts as a bridge between the authentication provider and the user management system.
+ * Also persists re-hashed passwords when the authentication provider upgrades an outdated hash on login.
  */
 @Service
 @RequiredArgsConstructor
-public class NotifUserDetailsService implements UserDetailsService {
+public class NotifUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
     private final UserClient userClient;
 
     @Override
@@ -38,6 +41,43 @@ public class NotifUserDetailsService implements UserDetailsService {
         }
     }
 
+    /**
+     * Called by DaoAuthenticationProvider after a successful login whose stored hash uses outdated parameters
+     * (see PasswordConfig); stores the new hash and returns the updated principal.
+     */
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        NotifUserDetails principal = (NotifUserDetails) user;
+        UserAuthDetails updated = userClient.upgradePasswordHash(principal.getId(), principal.getPassword(), newPassword);
+
+        return new NotifUserDetails(updated);
+    }
+
+    /**
+     * Builds the principal from the claims of an already verified access token, without a user lookup.
+     *
+     * Account state is taken from the snapshot captured when the token was issued; the short access token
+     * lifetime bounds how long a stale snapshot can be used.
+     */
+    public NotifUserDetails loadUserFromToken(VerifiedToken token) {
+        UserAuthDetails user = UserAuthDetails.builder()
+                .id(UUID.fromString(token.getSubject()))
+                .email(token.getClaim(JwtTokenProvider.CLAIM_EMAIL, String.class))
+                .firstName(token.getClaim(JwtTokenProvider.CLAIM_GIVEN_NAME, String.class))
+                .lastName(token.getClaim(JwtTokenProvider.CLAIM_FAMILY_NAME, String.class))
+                .role(Role.valueOf(token.getClaim(JwtTokenProvider.CLAIM_ROLE, String.class)))
+                .enabled(Boolean.TRUE.equals(token.getClaim(JwtTokenProvider.CLAIM_ENABLED, Boolean.class)))
+                .accountNonExpired(Boolean.TRUE.equals(
+                        token.getClaim(JwtTokenProvider.CLAIM_ACCOUNT_NON_EXPIRED, Boolean.class)))
+                .accountNonLocked(Boolean.TRUE.equals(
+                        token.getClaim(JwtTokenProvider.CLAIM_ACCOUNT_NON_LOCKED, Boolean.class)))
+                .credentialsNonExpired(Boolean.TRUE.equals(
+                        token.getClaim(JwtTokenProvider.CLAIM_CREDENTIALS_NON_EXPIRED, Boolean.class)))
+                .build();
+
+        return new NotifUserDetails(user);
+    }
+
     public UserDetails loadUserById(UUID userId) throws UsernameNotFoundException {
         try {
             UserAuthDetails user = userClient.getUserAuthDetailsById(userId);
@@ -0,0 +1,227 @@
+package com.notif.api.auth.infrastructure.security;
+
+import com.notif.api.auth.domain.repository.SessionRepository;
+import com.notif.api.core.constants.AppConstants;
+import com.notif.api.core.scheduling.JobDefinition;
+import com.notif.api.core.scheduling.JobScheduler;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory set of recently revoked session IDs, consulted by JwtAuthenticationFilter on every request so a
+ * revoked session's access tokens stop working immediately instead of when they expire.
+ *
+ * An access token can only outlive its session's revocation by the access token lifetime, so entries only need
+ * to be kept for that long. The set is split into two generations that rotate every access token lifetime:
+ * new revocations go into the current generation, lookups check both, and the previous generation is dropped
+ * on rotation. Every entry is therefore kept for at least one and at most two token lifetimes, which bounds
+ * memory by the revocation rate rather than by the total number of revocations.
+ *
+ * Sessions revoked on this node are added once the revoking transaction commits, so a rollback never leaves a
+ * phantom revocation. Sessions revoked on other nodes are picked up by polling for recently revoked sessions every
+ * auth.revoked-sessions.sync-interval (a local job); adding a session twice is harmless.
+ *
+ * Each generation is an off-heap open-addressing table of 16-byte slots (UUID msb/lsb) with linear probing.
+ * Lookups are lock-free; writers are serialized. If a generation fills up, further entries spill into an exact
+ * on-heap set so no revocation is ever lost.
+ */
+@Component
+public class RevokedSessionRegistry {
+    private static final VarHandle LONGS = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.nativeOrder());
+    private static final int SLOT_BYTES = 16;
+    // revoked_at can be the revoking transaction's start time, so each poll re-reads this far back to catch
+    // revocations that committed after the previous poll started
+    private static final Duration SYNC_OVERLAP = Duration.ofMinutes(1);
+
+    private final SessionRepository sessionRepository;
+    private final long retentionMillis;
+    private final int capacity;
+
+    private volatile Generations generations;
+    private volatile Instant lastSyncAt = Instant.now();
+
+    public RevokedSessionRegistry(
+            SessionRepository sessionRepository,
+            JobScheduler jobScheduler,
+            @Value("${jwt.access-token.expiration}") long accessTokenExpiration,
+            @Value("${auth.revoked-sessions.capacity:65536}") int capacity,
+            @Value("${auth.revoked-sessions.sync-interval:PT5S}") Duration syncInterval
+    ) {
+        this.sessionRepository = sessionRepository;
+        this.retentionMillis = accessTokenExpiration * AppConstants.MILLISECONDS_PER_SECOND;
+        // Round up to a power of two so probing can mask instead of mod
+        this.capacity = Integer.highestOneBit(Math.max(capacity, 2) - 1) << 1;
+        long now = System.currentTimeMillis();
+        this.generations = new Generations(new Table(this.capacity, now), new Table(this.capacity, now));
+
+        jobScheduler.register(JobDefinition.builder()
+                .name("revoked-session-sync")
+                .fixedRate(syncInterval)
+                .clustered(false)
+                .task(context -> syncRevocations())
+                .build());
+    }
+
+    /**
+     * Rebuilds the set from sessions revoked within the last access token lifetime.
+     */
+    @PostConstruct
+    void loadRecentRevocations() {
+        lastSyncAt = Instant.now();
+        Instant since = lastSyncAt.minusMillis(retentionMillis);
+        sessionRepository.findIdsRevokedSince(since).forEach(this::add);
+    }
+
+    /**
+     * Adds sessions revoked since the previous poll, including sessions revoked on other nodes.
+     */
+    public void syncRevocations() {
+        Instant startedAt = Instant.now();
+        sessionRepository.findIdsRevokedSince(lastSyncAt.minus(SYNC_OVERLAP)).forEach(this::add);
+        lastSyncAt = startedAt;
+    }
+
+    /**
+     * Records a revoked session so its outstanding access tokens are rejected.
+     */
+    public synchronized void add(UUID sessionId) {
+        rotateIfDue(System.currentTimeMillis());
+        generations.current.add(sessionId);
+    }
+
+    /**
+     * Records a revoked session once the current transaction commits, or right away outside a transaction.
+     */
+    public void addAfterCommit(UUID sessionId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            add(sessionId);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                add(sessionId);
+            }
+        });
+    }
+
+    /**
+     * Returns true if the session was revoked within the last access token lifetime. Lock-free.
+     */
+    public boolean isRevoked(UUID sessionId) {
+        long now = System.currentTimeMillis();
+        Generations snapshot = generations;
+        if (now - snapshot.current.startedAt >= retentionMillis) {
+            synchronized (this) {
+                rotateIfDue(now);
+            }
+            snapshot = generations;
+        }
+
+        return snapshot.current.contains(sessionId) || snapshot.previous.contains(sessionId);
+    }
+
+    private void rotateIfDue(long now) {
+        Generations snapshot = generations;
+        long elapsed = now - snapshot.current.startedAt;
+        if (elapsed < retentionMillis) {
+            return;
+        }
+
+        if (elapsed >= 2 * retentionMillis) {
+            // Nothing in either generation is still needed
+            generations = new Generations(new Table(capacity, now), new Table(capacity, now));
+        } else {
+            long nextStart = snapshot.current.startedAt + retentionMillis;
+            generations = new Generations(new Table(capacity, nextStart), snapshot.current);
+        }
+    }
+
+    private record Generations(Table current, Table previous) {}
+
+    /**
+     * Fixed-capacity off-heap UUID set. Slots are never removed; the whole table is dropped on rotation.
+     * An RFC 4122 UUID always has the variant bits set in its lsb, so an lsb of 0 marks an empty slot.
+     */
+    private static final class Table {
+        private final ByteBuffer slots;
+        private final int mask;
+        private final int maxSize;
+        private final long startedAt;
+        private final Set<UUID> overflow = ConcurrentHashMap.newKeySet();
+        private int size;
+
+        Table(int capacity, long startedAt) {
+            this.slots = ByteBuffer.allocateDirect(capacity * SLOT_BYTES + Long.BYTES).alignedSlice(Long.BYTES);
+            this.mask = capacity - 1;
+            // Keep the load factor at or below 0.5 so probe sequences stay short
+            this.maxSize = capacity / 2;
+            this.startedAt = startedAt;
+        }
+
+        // Called with the registry lock held
+        void add(UUID id) {
+            if (contains(id)) {
+                return;
+            }
+            if (size >= maxSize || id.getLeastSignificantBits() == 0) {
+                overflow.add(id);
+                return;
+            }
+
+            int slot = indexFor(id);
+            while ((long) LONGS.getAcquire(slots, offset(slot) + Long.BYTES) != 0) {
+                slot = (slot + 1) & mask;
+            }
+            LONGS.set(slots, offset(slot), id.getMostSignificantBits());
+            // Publishing the lsb last makes the slot visible to readers only once the msb is in place
+            LONGS.setRelease(slots, offset(slot) + Long.BYTES, id.getLeastSignificantBits());
+            size++;
+        }
+
+        boolean contains(UUID id) {
+            long msb = id.getMostSignificantBits();
+            long lsb = id.getLeastSignificantBits();
+            int slot = indexFor(id);
+
+            for (int probes = 0; probes <= mask; probes++) {
+                long slotLsb = (long) LONGS.getAcquire(slots, offset(slot) + Long.BYTES);
+                if (slotLsb == 0) {
+                    break;
+                }
+                if (slotLsb == lsb && (long) LONGS.get(slots, offset(slot)) == msb) {
+                    return true;
+                }
+                slot = (slot + 1) & mask;
+            }
+
+            return !overflow.isEmpty() && overflow.contains(id);
+        }
+
+        private int indexFor(UUID id) {
+            long h = id.getMostSignificantBits() ^ id.getLeastSignificantBits();
+            h ^= (h >>> 33);
+            h *= 0xff51afd7ed558ccdL;
+            h ^= (h >>> 33);
+            return (int) h & mask;
+        }
+
+        private static int offset(int slot) {
+            return slot * SLOT_BYTES;
+        }
+    }
+}
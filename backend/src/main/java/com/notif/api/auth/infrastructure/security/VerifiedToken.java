@@ -0,0 +1,50 @@
+package com.notif.api.auth.infrastructure.security;
+
+import io.jsonwebtoken.Claims;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Immutable view of an access token whose signature and expiration have already been verified.
+ *
+ * Produced once per request by {@link JwtTokenProvider#verify(String)} so that the filter chain never has to
+ * parse or re-verify the same token string again.
+ */
+@Getter
+public final class VerifiedToken {
+    private final String subject;
+    private final Instant issuedAt;
+    private final Instant expiresAt;
+    // Parsed claims are kept private; exposed read-only through getClaims() and getClaim()
+    @Getter(AccessLevel.NONE)
+    private final Claims claims;
+
+    VerifiedToken(Claims claims) {
+        this.subject = claims.getSubject();
+        this.issuedAt = claims.getIssuedAt() != null ? claims.getIssuedAt().toInstant() : null;
+        this.expiresAt = claims.getExpiration() != null ? claims.getExpiration().toInstant() : null;
+        this.claims = claims;
+    }
+
+    /**
+     * Returns a custom claim converted to the requested type, or null if it is absent.
+     */
+    public <T> T getClaim(String name, Class<T> type) {
+        return claims.get(name, type);
+    }
+
+    /**
+     * Returns all claims carried by the token as a read-only map.
+     */
+    public Map<String, Object> getClaims() {
+        return Collections.unmodifiableMap(claims);
+    }
+
+    public boolean isExpired(Instant now) {
+        return expiresAt != null && expiresAt.isBefore(now);
+    }
+}
@@ -0,0 +1,67 @@
+package com.notif.api.auth.infrastructure.useragent;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import nl.basjes.parse.useragent.UserAgentAnalyzer;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * UserAgentAnalyzer built in the background once the application is ready, instead of during context refresh.
+ *
+ * Building the analyzer loads and compiles its whole rule set, which takes seconds and a large amount of heap, and
+ * would otherwise delay startup and readiness on every node. Until it is ready, callers get an empty Optional and
+ * fall back to a cheaper classification. If building it fails, the failure is logged and the fallback stays in
+ * use until the next restart.
+ *
+ * Publishes "auth.user-agent.analyzer.ready" (0/1) and "auth.user-agent.analyzer.build-time" (seconds, once built).
+ */
+@Slf4j
+public class BackgroundUserAgentAnalyzer {
+    private final Supplier<UserAgentAnalyzer> factory;
+    private final CompletableFuture<UserAgentAnalyzer> analyzer = new CompletableFuture<>();
+    private volatile Duration buildTime;
+
+    public BackgroundUserAgentAnalyzer(Supplier<UserAgentAnalyzer> factory, MeterRegistry meterRegistry) {
+        this.factory = factory;
+
+        Gauge.builder("auth.user-agent.analyzer.ready", () -> getIfReady().isPresent() ? 1 : 0)
+                .register(meterRegistry);
+        Gauge.builder(
+                "auth.user-agent.analyzer.build-time",
+                () -> buildTime != null ? buildTime.toMillis() / 1000.0 : 0
+        ).register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        Thread thread = new Thread(() -> {
+            long started = System.nanoTime();
+            try {
+                UserAgentAnalyzer built = factory.get();
+                buildTime = Duration.ofNanos(System.nanoTime() - started);
+                analyzer.complete(built);
+            } catch (RuntimeException ex) {
+                log.error("Building the user agent analyzer failed; falling back to coarse classification", ex);
+                analyzer.completeExceptionally(ex);
+            }
+        }, "user-agent-analyzer-init");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Returns the analyzer if it has been built. Stays empty if building it failed.
+     */
+    public Optional<UserAgentAnalyzer> getIfReady() {
+        return analyzer.isDone() && !analyzer.isCompletedExceptionally()
+                ? Optional.of(analyzer.join())
+                : Optional.empty();
+    }
+}
@@ -0,0 +1,89 @@
+package com.notif.api.auth.infrastructure.useragent;
+
+import java.util.regex.Pattern;
+
+/**
+ * Cheap, pattern-based classification of the common browsers and operating systems, used while the
+ * UserAgentAnalyzer is still being built. Values follow the analyzer's naming so devices look the same either way;
+ * anything it does not recognize is left unknown, and devices stored as "Unknown device" are reclassified by the
+ * analyzer later (see UnknownDeviceBackfill).
+ */
+final class FallbackUserAgentClassifier {
+    private static final Pattern EDGE = Pattern.compile("\\bEdg(e|A|iOS)?/");
+    private static final Pattern OPERA = Pattern.compile("\\b(OPR|Opera)/");
+    private static final Pattern SAMSUNG = Pattern.compile("\\bSamsungBrowser/");
+    private static final Pattern FIREFOX = Pattern.compile("\\b(Firefox|FxiOS)/");
+    private static final Pattern CHROME = Pattern.compile("\\b(Chrome|CriOS)/");
+    private static final Pattern SAFARI = Pattern.compile("\\bVersion/[\\d.]+.*\\bSafari/");
+
+    private FallbackUserAgentClassifier() {}
+
+    static UserAgentClassification classify(String userAgent) {
+        String os = os(userAgent);
+        boolean tablet = userAgent.contains("iPad") || (userAgent.contains("Android") && !userAgent.contains("Mobile"));
+        boolean phone = !tablet && (userAgent.contains("iPhone") || userAgent.contains("Mobile"));
+
+        String type;
+        if (os == null) {
+            type = "Unknown";
+        } else if (tablet) {
+            type = "Tablet";
+        } else if (phone) {
+            type = "Phone";
+        } else {
+            type = "Desktop";
+        }
+
+        String model = userAgent.contains("iPhone") ? "Apple iPhone"
+                : userAgent.contains("iPad") ? "Apple iPad"
+                : userAgent.contains("Macintosh") ? "Apple Macintosh"
+                : null;
+
+        return new UserAgentClassification(type, model, os, browser(userAgent));
+    }
+
+    private static String os(String userAgent) {
+        if (userAgent.contains("Windows NT")) {
+            return "Windows NT";
+        }
+        if (userAgent.contains("Android")) {
+            return "Android";
+        }
+        if (userAgent.contains("iPhone") || userAgent.contains("iPad")) {
+            return "iOS";
+        }
+        if (userAgent.contains("Mac OS X")) {
+            return "Mac OS";
+        }
+        if (userAgent.contains("CrOS")) {
+            return "Chrome OS";
+        }
+        if (userAgent.contains("Linux")) {
+            return "Linux";
+        }
+        return null;
+    }
+
+    private static String browser(String userAgent) {
+        // Order matters: most browsers also claim to be Chrome and/or Safari
+        if (EDGE.matcher(userAgent).find()) {
+            return "Edge";
+        }
+        if (OPERA.matcher(userAgent).find()) {
+            return "Opera";
+        }
+        if (SAMSUNG.matcher(userAgent).find()) {
+            return "Samsung Internet";
+        }
+        if (FIREFOX.matcher(userAgent).find()) {
+            return "Firefox";
+        }
+        if (CHROME.matcher(userAgent).find()) {
+            return "Chrome";
+        }
+        if (SAFARI.matcher(userAgent).find()) {
+            return "Safari";
+        }
+        return null;
+    }
+}
@@ -0,0 +1,103 @@
+package com.notif.api.auth.infrastructure.useragent;
+
+import com.notif.api.core.scheduling.JobDefinition;
+import com.notif.api.core.scheduling.JobScheduler;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Reclassifies device profiles created while only the fallback classifier was available (analyzed = false) once
+ * the UserAgentAnalyzer is ready; updating a profile fixes every device that shares it.
+ *
+ * Runs as a clustered job on auth.device-profile-backfill.interval, so only one node scans per tick, and a node
+ * whose analyzer is not ready yet skips its turn. It walks the unanalyzed profiles in primary key order in chunks,
+ * through a partial index (see schema.sql), so a run with nothing to do costs a single index probe. Each update
+ * only applies to a profile that has not been analyzed yet, so it never overwrites a concurrent inline upgrade
+ * (see DeviceProfileServiceImpl).
+ */
+@Component
+public class UnknownDeviceBackfill {
+    private static final int CHUNK_SIZE = 500;
+
+    private static final String FIND_UNANALYZED = """
+        SELECT id, user_agent
+        FROM device_profile
+        WHERE NOT analyzed
+          AND id > ?
+        ORDER BY id
+        LIMIT ?
+    """;
+
+    private static final String UPDATE_PROFILE = """
+        UPDATE device_profile
+        SET type = ?, name = ?, model = ?, os = ?, browser = ?, analyzed = true, version = version + 1
+        WHERE id = ?
+          AND NOT analyzed
+    """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final BackgroundUserAgentAnalyzer backgroundAnalyzer;
+    private final UserAgentClassifier userAgentClassifier;
+
+    public UnknownDeviceBackfill(
+            JdbcTemplate jdbcTemplate,
+            BackgroundUserAgentAnalyzer backgroundAnalyzer,
+            UserAgentClassifier userAgentClassifier,
+            @Value("${auth.device-profile-backfill.interval:PT10M}") Duration interval,
+            JobScheduler jobScheduler
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.backgroundAnalyzer = backgroundAnalyzer;
+        this.userAgentClassifier = userAgentClassifier;
+
+        jobScheduler.register(JobDefinition.builder()
+                .name("device-profile-backfill")
+                .fixedRate(interval)
+                .clustered(true)
+                .task(context -> backfill(context::heartbeat))
+                .build());
+    }
+
+    /**
+     * Returns the number of profiles reclassified; none while the analyzer is not ready. Calls the heartbeat before
+     * each chunk.
+     */
+    int backfill(Runnable heartbeat) {
+        if (backgroundAnalyzer.getIfReady().isEmpty()) {
+            return 0;
+        }
+
+        // Postgres compares UUIDs as unsigned bytes, so the all-zero UUID sorts first
+        UUID afterId = new UUID(0, 0);
+        int reclassified = 0;
+
+        while (true) {
+            heartbeat.run();
+            List<Map<String, Object>> profiles = jdbcTemplate.queryForList(FIND_UNANALYZED, afterId, CHUNK_SIZE);
+
+            List<Object[]> updates = new ArrayList<>();
+            for (Map<String, Object> profile : profiles) {
+                UserAgentClassification agent = userAgentClassifier.classify((String) profile.get("user_agent"));
+                updates.add(new Object[]{
+                        agent.type(), agent.deviceName(), agent.model(), agent.os(), agent.browser(),
+                        profile.get("id")
+                });
+            }
+            if (!updates.isEmpty()) {
+                reclassified += jdbcTemplate.batchUpdate(UPDATE_PROFILE, updates).length;
+            }
+
+            if (profiles.size() < CHUNK_SIZE) {
+                return reclassified;
+            }
+            afterId = (UUID) profiles.getLast().get("id");
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.notif.api.auth.infrastructure.useragent;
+
+import com.notif.api.core.utils.Util;
+
+/**
+ * Device fields extracted from a user agent string. Any field may be null if the user agent does not reveal it.
+ */
+public record UserAgentClassification(String type, String model, String os, String browser) {
+    public static final String UNKNOWN_DEVICE = "Unknown device";
+
+    /**
+     * Display name such as "Chrome on Android", or "Unknown device" if the browser or OS is unknown.
+     */
+    public String deviceName() {
+        boolean missingInfo = Util.isNullOrBlank(browser) || Util.isNullOrBlank(os);
+        return missingInfo
+                ? UNKNOWN_DEVICE
+                : browser + " on " + os;
+    }
+}
@@ -0,0 +1,224 @@
+package com.notif.api.auth.infrastructure.useragent;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.notif.api.core.scheduling.JobDefinition;
+import com.notif.api.core.scheduling.JobScheduler;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import nl.basjes.parse.useragent.UserAgent;
+import nl.basjes.parse.useragent.UserAgentAnalyzer;
+import nl.basjes.parse.useragent.Version;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.nio.file.attribute.UserPrincipal;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Classifies user agent strings into device fields, backed by a bounded cache that survives restarts.
+ *
+ * User agents are normalized (trimmed, whitespace collapsed, length capped) before lookup, so trivially different
+ * strings share an entry. Only cache misses reach the UserAgentAnalyzer, whose matching is the expensive part.
+ * While the analyzer is still being built in the background, misses are answered by FallbackUserAgentClassifier
+ * instead and not cached, so the cache only ever holds the analyzer's results.
+ *
+ * The cache is written to a snapshot file (auth.user-agent-cache.snapshot-path) periodically and on shutdown, and
+ * loaded on startup, so a deploy does not start from a cold cache. Snapshots record the analyzer version and are
+ * ignored after an upgrade, since its results may have changed. A snapshot is trusted as it is read, so it lives
+ * in a directory only the process user can write to, and one owned by any other user is ignored.
+ *
+ * Hit/miss metrics are published as "cache.*" meters with cache=auth.user-agent, plus the
+ * "auth.user-agent-cache.hit-rate" gauge.
+ */
+@Component
+public class UserAgentClassifier {
+    public static final int MAX_USER_AGENT_LENGTH = 1024;
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final int SNAPSHOT_FORMAT = 1;
+    private static final Set<PosixFilePermission> OWNER_ONLY = PosixFilePermissions.fromString("rwx------");
+
+    private final BackgroundUserAgentAnalyzer backgroundAnalyzer;
+    private final Cache<String, UserAgentClassification> cache;
+    private final Path snapshotPath;
+
+    public UserAgentClassifier(
+            BackgroundUserAgentAnalyzer backgroundAnalyzer,
+            MeterRegistry meterRegistry,
+            JobScheduler jobScheduler,
+            @Value("${auth.user-agent-cache.maximum-size:50000}") long maximumSize,
+            @Value("${auth.user-agent-cache.snapshot-path:${user.home}/.notif-api/user-agent-cache.bin}")
+            Path snapshotPath,
+            @Value("${auth.user-agent-cache.snapshot-interval:PT10M}") Duration snapshotInterval
+    ) {
+        this.backgroundAnalyzer = backgroundAnalyzer;
+        this.snapshotPath = snapshotPath;
+        this.cache = CaffeineCacheMetrics.monitor(meterRegistry, Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .recordStats()
+                .<String, UserAgentClassification>build(), "auth.user-agent");
+
+        meterRegistry.gauge("auth.user-agent-cache.hit-rate", cache, c -> c.stats().hitRate());
+
+        jobScheduler.register(JobDefinition.builder()
+                .name("user-agent-cache-snapshot")
+                .fixedRate(snapshotInterval)
+                .clustered(false)
+                .task(context -> writeSnapshot())
+                .build());
+    }
+
+    /**
+     * Classifies the user agent. Never blocks on the analyzer being built.
+     */
+    public UserAgentClassification classify(String userAgent) {
+        String key = normalize(userAgent);
+        Optional<UserAgentAnalyzer> analyzer = backgroundAnalyzer.getIfReady();
+        if (analyzer.isEmpty()) {
+            UserAgentClassification cached = cache.getIfPresent(key);
+            return cached != null ? cached : FallbackUserAgentClassifier.classify(key);
+        }
+
+        return cache.get(key, normalized -> analyze(analyzer.get(), normalized));
+    }
+
+    /**
+     * Whether classify() answers with the analyzer. Once true, stays true.
+     */
+    public boolean isAnalyzerReady() {
+        return backgroundAnalyzer.getIfReady().isPresent();
+    }
+
+    private static UserAgentClassification analyze(UserAgentAnalyzer analyzer, String userAgent) {
+        UserAgent agent = analyzer.parse(userAgent);
+
+        return new UserAgentClassification(
+                agent.getValue(UserAgent.DEVICE_CLASS),
+                agent.getValue(UserAgent.DEVICE_NAME),
+                agent.getValue(UserAgent.OPERATING_SYSTEM_NAME),
+                agent.getValue(UserAgent.AGENT_NAME)
+        );
+    }
+
+    /**
+     * Trims the user agent, collapses whitespace runs and caps the length; null becomes an empty string.
+     */
+    public static String normalize(String userAgent) {
+        if (userAgent == null) {
+            return "";
+        }
+
+        String normalized = WHITESPACE.matcher(userAgent.strip()).replaceAll(" ");
+        return normalized.length() > MAX_USER_AGENT_LENGTH
+                ? normalized.substring(0, MAX_USER_AGENT_LENGTH)
+                : normalized;
+    }
+
+    /**
+     * Loads the snapshot written by a previous run, if any. A missing, outdated, unreadable or foreign snapshot
+     * only means a cold cache.
+     */
+    @PostConstruct
+    void loadSnapshot() {
+        if (!Files.isReadable(snapshotPath) || !isOwnedByProcessUser(snapshotPath)) {
+            return;
+        }
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(snapshotPath)))) {
+            if (in.readInt() != SNAPSHOT_FORMAT || !in.readUTF().equals(Version.PROJECT_VERSION)) {
+                return;
+            }
+
+            int entries = in.readInt();
+            for (int i = 0; i < entries; i++) {
+                String userAgent = in.readUTF();
+                cache.put(userAgent, new UserAgentClassification(
+                        readNullable(in),
+                        readNullable(in),
+                        readNullable(in),
+                        readNullable(in)
+                ));
+            }
+        } catch (IOException | RuntimeException ignored) {
+            // Keep whatever was read before the damaged part
+        }
+    }
+
+    /**
+     * Writes the cache to a temporary file and moves it over the snapshot, so a crash mid-write never leaves a
+     * truncated snapshot behind.
+     */
+    @PreDestroy
+    public synchronized void writeSnapshot() throws IOException {
+        Map<String, UserAgentClassification> entries = Map.copyOf(cache.asMap());
+        Path parent = snapshotPath.toAbsolutePath().getParent();
+        createPrivateDirectories(parent);
+        Path temp = Files.createTempFile(parent, snapshotPath.getFileName().toString(), ".tmp");
+
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                out.writeInt(SNAPSHOT_FORMAT);
+                out.writeUTF(Version.PROJECT_VERSION);
+                out.writeInt(entries.size());
+                for (Map.Entry<String, UserAgentClassification> entry : entries.entrySet()) {
+                    UserAgentClassification classification = entry.getValue();
+                    out.writeUTF(entry.getKey());
+                    writeNullable(out, classification.type());
+                    writeNullable(out, classification.model());
+                    writeNullable(out, classification.os());
+                    writeNullable(out, classification.browser());
+                }
+            }
+
+            Files.move(temp, snapshotPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private static boolean isOwnedByProcessUser(Path path) {
+        try {
+            UserPrincipal processUser = path.getFileSystem()
+                    .getUserPrincipalLookupService()
+                    .lookupPrincipalByName(System.getProperty("user.name"));
+            return Files.getOwner(path).equals(processUser);
+        } catch (IOException | UnsupportedOperationException ex) {
+            return false;
+        }
+    }
+
+    private static void createPrivateDirectories(Path directory) throws IOException {
+        if (directory.getFileSystem().supportedFileAttributeViews().contains("posix")) {
+            Files.createDirectories(directory, PosixFilePermissions.asFileAttribute(OWNER_ONLY));
+        } else {
+            Files.createDirectories(directory);
+        }
+    }
+
+    private static void writeNullable(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readNullable(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+}
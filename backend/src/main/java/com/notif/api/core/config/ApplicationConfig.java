@@ -26,11 +26,13 @@ public class ApplicationConfig {
      * Configures the AuthenticationManager using DAO-based authentication.
      *
      * Uses a custom UserDetailsService for user lookup and PasswordEncoder for secure password verification.
+     * Outdated password hashes are re-encoded and stored on successful login.
      */
     @Bean
     public AuthenticationManager authenticationManager() throws Exception {
         DaoAuthenticationProvider authenticationProvider = new DaoAuthenticationProvider(notifUserDetailsService);
         authenticationProvider.setPasswordEncoder(passwordEncoder);
+        authenticationProvider.setUserDetailsPasswordService(notifUserDetailsService);
 
         return new ProviderManager(authenticationProvider);
     }
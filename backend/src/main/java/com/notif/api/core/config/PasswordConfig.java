@@ -1,19 +1,49 @@
 package com.notif.api.core.config;
 
+import com.notif.api.core.security.BCryptStrengthCalibrator;
+import com.notif.api.core.security.TimedPasswordEncoder;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.time.Duration;
+import java.util.Map;
+
 /**
  * Configuration class responsible for password hashing strategy. PasswordEncoder is separated to avoid
  * circular dependencies when configuring authentication components.
+ *
+ * Hashes are stored with an encoder id prefix (e.g., "{bcrypt}$2a$12$..."). The BCrypt strength is calibrated at
+ * startup against password.hashing.target-latency unless pinned with password.hashing.bcrypt-strength. Hashes
+ * with a different prefix (or none, for hashes stored before prefixes were introduced) or a lower strength are
+ * upgraded on the next successful login (see NotifUserDetailsService#updatePassword).
  */
 @Configuration
 public class PasswordConfig {
+    private static final String BCRYPT_ID = "bcrypt";
+
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        // Returns BCryptPasswordEncoder bean for password hashing
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(
+            MeterRegistry meterRegistry,
+            @Value("${password.hashing.target-latency:250ms}") Duration targetLatency,
+            @Value("${password.hashing.bcrypt-strength:0}") int bcryptStrength
+    ) {
+        int strength = bcryptStrength > 0 ? bcryptStrength : BCryptStrengthCalibrator.calibrate(targetLatency);
+        Gauge.builder("password.hash.bcrypt.strength", () -> strength).register(meterRegistry);
+
+        DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder(
+                BCRYPT_ID,
+                Map.of(BCRYPT_ID, new BCryptPasswordEncoder(strength))
+        );
+        // Legacy hashes carry no prefix; they are plain BCrypt (cost is read from the hash itself)
+        encoder.setDefaultPasswordEncoderForMatches(new BCryptPasswordEncoder());
+
+        // Timed for hash latency metrics
+        return new TimedPasswordEncoder(encoder, meterRegistry);
     }
-}
\ No newline at end of file
+}
@@ -2,6 +2,7 @@ package com.notif.api.core.config;
 
 import com.notif.api.auth.infrastructure.security.JwtAuthenticationEntryPoint;
 import com.notif.api.auth.infrastructure.security.JwtAuthenticationFilter;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
@@ -53,10 +54,13 @@ public class SecurityConfig {
                 .exceptionHandling(ex -> ex.authenticationEntryPoint(unauthorizedHandler))
                 // Configure endpoint authorization
                 .authorizeHttpRequests(auth -> auth
+                        // Async dispatches resume requests that were already authorized (e.g., login, password change)
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         // Public endpoints
                         .requestMatchers(WHITE_LIST_URL).permitAll()
                         // Role-based endpoints
                         .requestMatchers(apiBasePath + "/admin/**").hasRole(ADMIN.name())
+                        .requestMatchers("/actuator/**").hasRole(ADMIN.name())
                         .requestMatchers(apiBasePath + "/management/**").hasAnyRole(ADMIN.name(), MANAGER.name())
                         // All other endpoints require authentication
                         .anyRequest()
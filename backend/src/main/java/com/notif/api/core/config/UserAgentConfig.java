@@ -1,29 +1,32 @@
 package com.notif.api.core.config;
 
+import com.notif.api.auth.infrastructure.useragent.BackgroundUserAgentAnalyzer;
+import io.micrometer.core.instrument.MeterRegistry;
 import nl.basjes.parse.useragent.UserAgent;
 import nl.basjes.parse.useragent.UserAgentAnalyzer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 /**
- * Spring configuration class for initializing a UserAgentAnalyzer bean.
- * The analyzer is configured to parse user agent strings and extract fields like Operating System class, OS name, and
- * Agent name.
+ * Spring configuration class for initializing the UserAgentAnalyzer.
+ * The analyzer is configured to parse user agent strings and extract only the fields stored on Device: device class,
+ * device name, OS name, and Agent name.
+ *
+ * The analyzer is built in the background after startup (see BackgroundUserAgentAnalyzer). Its own cache is
+ * disabled; results are cached (and persisted across restarts) by UserAgentClassifier.
  */
 @Configuration
 public class UserAgentConfig {
-    private static final int CACHE_SIZE = 10000;
-
     @Bean
-    public UserAgentAnalyzer userAgentAnalyzer() {
-        return UserAgentAnalyzer
+    public BackgroundUserAgentAnalyzer userAgentAnalyzer(MeterRegistry meterRegistry) {
+        return new BackgroundUserAgentAnalyzer(() -> UserAgentAnalyzer
                 .newBuilder()
                 .hideMatcherLoadStats()
                 .withField(UserAgent.DEVICE_CLASS)
                 .withField(UserAgent.DEVICE_NAME)
                 .withField(UserAgent.OPERATING_SYSTEM_NAME)
                 .withField(UserAgent.AGENT_NAME)
-                .withCache(CACHE_SIZE)
-                .build();
+                .withoutCache()
+                .build(), meterRegistry);
     }
-}
\ No newline at end of file
+}
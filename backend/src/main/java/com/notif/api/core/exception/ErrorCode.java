@@ -10,6 +10,7 @@ public enum ErrorCode {
     // System
     INTERNAL_SERVER_ERROR("INTERNAL_SERVER_ERROR"),
     SERVICE_UNAVAILABLE("SERVICE_UNAVAILABLE"),
+    SERVICE_OVERLOADED("SERVICE_OVERLOADED"),
     CONFIGURATION_ERROR("CONFIGURATION_ERROR"),
     // NotFound
     RESOURCE_NOT_FOUND("RESOURCE_NOT_FOUND"),
@@ -54,6 +55,7 @@ public enum ErrorCode {
     AUTH_TOKEN_INVALID("AUTH_TOKEN_INVALID"),
     AUTH_TOKEN_SIGNATURE_INVALID("AUTH_TOKEN_INVALID"),
     AUTH_TOKEN_EXPIRED("AUTH_TOKEN_EXPIRED"),
+    AUTH_TOKEN_REVOKED("AUTH_TOKEN_REVOKED"),
     AUTH_REFRESH_TOKEN_NOT_FOUND("AUTH_REFRESH_TOKEN_NOT_FOUND"),
     AUTH_REFRESH_TOKEN_INVALID("AUTH_REFRESH_TOKEN_INVALID"),
     AUTH_REFRESH_TOKEN_REVOKED("AUTH_REFRESH_TOKEN_REVOKED"),
@@ -1,6 +1,7 @@
 package com.notif.api.core.exception;
 
 import com.notif.api.core.dto.ApiError;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -93,6 +94,22 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(error.getStatus()).body(error);
     }
 
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<ApiError> handleTooManyRequestsException(TooManyRequestsException ex) {
+        ApiError error = ApiError.builder()
+                .title(HttpStatus.TOO_MANY_REQUESTS.getReasonPhrase())
+                .status(HttpStatus.TOO_MANY_REQUESTS.value())
+                .error(ex.getErrorCode().getValue())
+                .detail(ex.getMessage())
+                .timestamp(Instant.now())
+                .build();
+
+        // Clients should back off briefly; the hashing queue drains within seconds
+        return ResponseEntity.status(error.getStatus())
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(error);
+    }
+
     @ExceptionHandler(ModuleClientException.class)
     public ResponseEntity<ApiError> handleModuleClientException(ModuleClientException ex) {
         ApiError error = ApiError.builder()
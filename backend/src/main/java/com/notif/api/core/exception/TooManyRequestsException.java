@@ -0,0 +1,11 @@
+package com.notif.api.core.exception;
+
+public class TooManyRequestsException extends BusinessException {
+    public TooManyRequestsException(String message) {
+        super(message, ErrorCode.SERVICE_OVERLOADED);
+    }
+
+    public TooManyRequestsException(String message, ErrorCode errorCode) {
+        super(message, errorCode);
+    }
+}
@@ -0,0 +1,29 @@
+package com.notif.api.core.scheduling;
+
+import org.springframework.scheduling.Trigger;
+import org.springframework.scheduling.TriggerContext;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Fixed-rate trigger whose ticks fall on multiples of the period since the epoch, so every node computes the same
+ * tick times (needed for clustered jobs to agree on what "this tick" is).
+ */
+class AlignedFixedRateTrigger implements Trigger {
+    private final long periodMillis;
+
+    AlignedFixedRateTrigger(Duration period) {
+        this.periodMillis = period.toMillis();
+    }
+
+    @Override
+    public Instant nextExecution(TriggerContext triggerContext) {
+        Instant last = triggerContext.lastScheduledExecution();
+        long from = last != null ? last.toEpochMilli() : triggerContext.getClock().millis();
+        // Next boundary after the last tick; ticks missed while a run overran are skipped
+        long next = Math.max(from, triggerContext.getClock().millis()) / periodMillis * periodMillis + periodMillis;
+
+        return Instant.ofEpochMilli(next);
+    }
+}
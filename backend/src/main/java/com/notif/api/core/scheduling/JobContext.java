@@ -0,0 +1,40 @@
+package com.notif.api.core.scheduling;
+
+import lombok.Getter;
+
+import java.time.Instant;
+
+/**
+ * Passed to a running job: the tick it runs for, and the lease check for clustered jobs.
+ */
+public class JobContext {
+    @Getter
+    private final String jobName;
+    @Getter
+    private final Instant scheduledTime;
+    private final JobLeaseRepository leaseRepository;
+    private final JobLeaseRepository.Lease lease;
+
+    JobContext(
+            String jobName,
+            Instant scheduledTime,
+            JobLeaseRepository leaseRepository,
+            JobLeaseRepository.Lease lease
+    ) {
+        this.jobName = jobName;
+        this.scheduledTime = scheduledTime;
+        this.leaseRepository = leaseRepository;
+        this.lease = lease;
+    }
+
+    /**
+     * Extends the lease of a clustered job; long-running jobs call this between units of work. No-op for local jobs.
+     *
+     * @throws JobLeaseLostException if the lease has expired and was taken over by another node
+     */
+    public void heartbeat() {
+        if (lease != null && !leaseRepository.renew(lease)) {
+            throw new JobLeaseLostException("Lease lost for job " + jobName);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.notif.api.core.scheduling;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.Duration;
+
+/**
+ * Describes a job for JobScheduler: its trigger (either a cron expression, evaluated in UTC, or a fixed rate
+ * aligned to the epoch so all nodes agree on tick boundaries) and whether it is clustered.
+ *
+ * A clustered job runs on exactly one node per tick, under a lease in the job_lease table. A local job runs on
+ * every node, for work that only concerns the node's own state (e.g., in-memory buffers).
+ */
+@Getter
+@Builder
+public class JobDefinition {
+    private final String name;
+    private final String cron;
+    private final Duration fixedRate;
+    private final boolean clustered;
+    // How long a clustered run may go without JobContext#heartbeat before the next tick may be taken by another node
+    @Builder.Default
+    private final Duration leaseDuration = Duration.ofMinutes(10);
+    private final JobTask task;
+}
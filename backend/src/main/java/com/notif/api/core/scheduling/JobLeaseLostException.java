@@ -0,0 +1,11 @@
+package com.notif.api.core.scheduling;
+
+/**
+ * Thrown when a clustered job finds that its lease has expired and may have been taken over by another node.
+ * The job should stop; the work it did under the lease may overlap with the new holder's.
+ */
+public class JobLeaseLostException extends RuntimeException {
+    public JobLeaseLostException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,110 @@
+package com.notif.api.core.scheduling;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Leases for clustered jobs, one row per job in job_lease (see schema.sql).
+ *
+ * A lease is taken for one tick: the row records the last tick it was taken for, so once a node has taken it no
+ * other node can run the same tick, even after the lease is released. Acquisition locks the row with
+ * FOR UPDATE SKIP LOCKED, so a node never waits on another node's acquisition; it simply skips the tick.
+ *
+ * Every node attempts a tick once, at its scheduled time, so a tick whose holder dies is not run again: its lease
+ * expires (against the database clock) and the first later tick that finds it expired takes it over. Every
+ * acquisition increments the row's fencing token, so a holder whose lease expired and was taken over can detect it
+ * on renewal or release.
+ */
+@Repository
+public class JobLeaseRepository {
+    private static final String REGISTER = """
+        INSERT INTO job_lease (name) VALUES (?)
+        ON CONFLICT (name) DO NOTHING
+    """;
+
+    private static final String ACQUIRE = """
+        UPDATE job_lease
+        SET owner = ?,
+            token = token + 1,
+            lease_until = now() + ? * interval '1 millisecond',
+            last_scheduled_time = ?
+        WHERE name = (
+            SELECT name
+            FROM job_lease
+            WHERE name = ?
+              AND (lease_until IS NULL OR lease_until < now())
+              AND (last_scheduled_time IS NULL OR last_scheduled_time < ?)
+            FOR UPDATE SKIP LOCKED
+        )
+        RETURNING token
+    """;
+
+    private static final String RENEW = """
+        UPDATE job_lease
+        SET lease_until = now() + ? * interval '1 millisecond'
+        WHERE name = ?
+          AND owner = ?
+          AND token = ?
+    """;
+
+    private static final String RELEASE = """
+        UPDATE job_lease
+        SET lease_until = NULL
+        WHERE name = ?
+          AND owner = ?
+          AND token = ?
+    """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public JobLeaseRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void register(String jobName) {
+        jdbcTemplate.update(REGISTER, jobName);
+    }
+
+    /**
+     * Takes the job's lease for the tick, unless another node holds an unexpired lease or has already taken it for
+     * this tick.
+     */
+    public Optional<Lease> tryAcquire(String jobName, String owner, Instant scheduledTime, Duration duration) {
+        OffsetDateTime tick = OffsetDateTime.ofInstant(scheduledTime, ZoneOffset.UTC);
+        List<Long> tokens = jdbcTemplate.queryForList(
+                ACQUIRE,
+                Long.class,
+                owner,
+                duration.toMillis(),
+                tick,
+                jobName,
+                tick
+        );
+
+        return tokens.stream().findFirst().map(token -> new Lease(jobName, owner, token, duration));
+    }
+
+    /**
+     * Extends the lease. Returns false if it has been lost.
+     */
+    public boolean renew(Lease lease) {
+        long durationMillis = lease.duration().toMillis();
+        return jdbcTemplate.update(RENEW, durationMillis, lease.jobName(), lease.owner(), lease.token()) == 1;
+    }
+
+    /**
+     * Releases the lease. Returns false if it had already been lost.
+     */
+    public boolean release(Lease lease) {
+        return jdbcTemplate.update(RELEASE, lease.jobName(), lease.owner(), lease.token()) == 1;
+    }
+
+    public record Lease(String jobName, String owner, long token, Duration duration) {}
+}
@@ -0,0 +1,165 @@
+package com.notif.api.core.scheduling;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.sql.init.dependency.DependsOnDatabaseInitialization;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.scheduling.Trigger;
+import org.springframework.scheduling.TriggerContext;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.scheduling.support.CronTrigger;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Runs the application's maintenance jobs on a bounded worker pool.
+ *
+ * Components register a JobDefinition (typically from their constructor); jobs start with the application context
+ * and stop with it, waiting for running jobs to finish. A job never overlaps itself on a node. Clustered jobs
+ * additionally take a lease per tick (see JobLeaseRepository), so with several nodes each tick runs on exactly one
+ * of them; the others skip it. A lease found lost on heartbeat or release is counted and reported as the run's
+ * outcome.
+ *
+ * Publishes "scheduler.job.*" meters tagged with the job name: run duration by outcome (success, failure,
+ * lease_lost), skipped ticks, and lost leases.
+ */
+@Component
+@DependsOnDatabaseInitialization
+public class JobScheduler implements SmartLifecycle {
+    private final JobLeaseRepository leaseRepository;
+    private final MeterRegistry meterRegistry;
+    private final ThreadPoolTaskScheduler taskScheduler;
+    private final List<JobDefinition> jobs = new ArrayList<>();
+    // Identifies this node as lease owner
+    private final String nodeId;
+
+    private volatile boolean running;
+
+    public JobScheduler(
+            JobLeaseRepository leaseRepository,
+            MeterRegistry meterRegistry,
+            @Value("${scheduler.pool-size:4}") int poolSize
+    ) {
+        this.leaseRepository = leaseRepository;
+        this.meterRegistry = meterRegistry;
+        this.nodeId = hostName() + "/" + UUID.randomUUID();
+
+        this.taskScheduler = new ThreadPoolTaskScheduler();
+        taskScheduler.setPoolSize(poolSize);
+        taskScheduler.setThreadNamePrefix("job-");
+        taskScheduler.setWaitForTasksToCompleteOnShutdown(true);
+        taskScheduler.setAwaitTerminationSeconds(30);
+        taskScheduler.initialize();
+
+        meterRegistry.gauge("scheduler.pool.active", taskScheduler, ThreadPoolTaskScheduler::getActiveCount);
+    }
+
+    /**
+     * Registers a job. Jobs registered before the context has started begin running once it has.
+     */
+    public synchronized void register(JobDefinition job) {
+        if ((job.getCron() == null) == (job.getFixedRate() == null)) {
+            throw new IllegalArgumentException("Job " + job.getName() + " needs exactly one of cron and fixedRate");
+        }
+
+        if (job.isClustered()) {
+            leaseRepository.register(job.getName());
+        }
+
+        jobs.add(job);
+        if (running) {
+            schedule(job);
+        }
+    }
+
+    @Override
+    public synchronized void start() {
+        jobs.forEach(this::schedule);
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        taskScheduler.shutdown();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void schedule(JobDefinition job) {
+        Trigger trigger = job.getCron() != null
+                ? new CronTrigger(job.getCron(), ZoneOffset.UTC)
+                : new AlignedFixedRateTrigger(job.getFixedRate());
+
+        // Runs of one job are sequential, so the last time computed by the trigger is the tick being run
+        AtomicReference<Instant> scheduledTime = new AtomicReference<>();
+        Trigger recordingTrigger = (TriggerContext context) -> {
+            Instant next = trigger.nextExecution(context);
+            scheduledTime.set(next);
+            return next;
+        };
+
+        taskScheduler.schedule(() -> execute(job, scheduledTime.get()), recordingTrigger);
+    }
+
+    private void execute(JobDefinition job, Instant scheduledTime) {
+        JobLeaseRepository.Lease lease = null;
+        if (job.isClustered()) {
+            Optional<JobLeaseRepository.Lease> acquired =
+                    leaseRepository.tryAcquire(job.getName(), nodeId, scheduledTime, job.getLeaseDuration());
+            if (acquired.isEmpty()) {
+                // Another node runs (or has run) this tick
+                counter("scheduler.job.skipped", job).increment();
+                return;
+            }
+            lease = acquired.get();
+        }
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "success";
+        try {
+            job.getTask().run(new JobContext(job.getName(), scheduledTime, leaseRepository, lease));
+        } catch (JobLeaseLostException ex) {
+            outcome = "lease_lost";
+        } catch (Exception ex) {
+            outcome = "failure";
+            // Rethrown so the scheduler's error handler reports it; the job keeps its schedule
+            throw ex instanceof RuntimeException runtimeException ? runtimeException : new IllegalStateException(ex);
+        } finally {
+            if (lease != null && !leaseRepository.release(lease)) {
+                outcome = "lease_lost";
+            }
+            if (outcome.equals("lease_lost")) {
+                counter("scheduler.job.lease.lost", job).increment();
+            }
+
+            sample.stop(meterRegistry.timer("scheduler.job.duration", "job", job.getName(), "outcome", outcome));
+        }
+    }
+
+    private Counter counter(String name, JobDefinition job) {
+        return meterRegistry.counter(name, "job", job.getName());
+    }
+
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException ex) {
+            return "unknown";
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.notif.api.core.scheduling;
+
+/**
+ * Body of a scheduled job.
+ */
+@FunctionalInterface
+public interface JobTask {
+    void run(JobContext context) throws Exception;
+}
@@ -0,0 +1,48 @@
+package com.notif.api.core.security;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+import java.util.function.IntFunction;
+
+/**
+ * Picks the BCrypt strength (log2 rounds) for the hardware the application is running on.
+ *
+ * Each strength step doubles the hashing cost, so the calibrator times one hash per candidate strength above the
+ * floor and keeps the highest strength whose hash still completes within the latency target. Timing
+ * stops at the first strength over the target, so calibration costs only a few multiples of the target.
+ */
+public final class BCryptStrengthCalibrator {
+    // OWASP minimum work factor; never calibrate below it, even on slow hardware
+    public static final int MIN_STRENGTH = 10;
+    public static final int MAX_STRENGTH = 31;
+
+    private static final String SAMPLE_PASSWORD = "calibration-sample-password";
+
+    private BCryptStrengthCalibrator() {}
+
+    public static int calibrate(Duration targetLatency) {
+        // Warm up the JIT so the first measurement is not inflated
+        new BCryptPasswordEncoder(4).encode(SAMPLE_PASSWORD);
+
+        return calibrate(targetLatency, BCryptStrengthCalibrator::timeHash);
+    }
+
+    /**
+     * Calibrates against the given hash timing (the duration of one hash at a strength).
+     */
+    static int calibrate(Duration targetLatency, IntFunction<Duration> hashTime) {
+        int strength = MIN_STRENGTH;
+        while (strength < MAX_STRENGTH && hashTime.apply(strength + 1).compareTo(targetLatency) <= 0) {
+            strength++;
+        }
+
+        return strength;
+    }
+
+    private static Duration timeHash(int strength) {
+        long started = System.nanoTime();
+        new BCryptPasswordEncoder(strength).encode(SAMPLE_PASSWORD);
+        return Duration.ofNanos(System.nanoTime() - started);
+    }
+}
@@ -0,0 +1,99 @@
+package com.notif.api.core.security;
+
+import com.notif.api.core.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.concurrent.DelegatingSecurityContextExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Dedicated, size-bounded executor for request handling that is dominated by password hashing
+ * (login, registration, password changes).
+ *
+ * Hashing is deliberately slow, so running it on servlet request threads lets a burst of login attempts occupy
+ * every request thread and starve cheap endpoints such as token refresh. Controllers instead hand these
+ * operations to this executor and return the resulting future, which releases the request thread through
+ * async servlet processing. Both the pool and its queue are bounded: once they are full, new work is rejected
+ * immediately with {@link TooManyRequestsException} (HTTP 429) instead of queueing without limit.
+ *
+ * Publishes "password.hashing.*" meters: queue depth, active threads, queue wait time and rejections.
+ */
+@Component
+public class PasswordHashingExecutor {
+    private final ThreadPoolExecutor executor;
+    // Propagates the caller's SecurityContext to the hashing threads
+    private final Executor securedExecutor;
+    private final Timer queueWait;
+    private final Counter rejected;
+
+    public PasswordHashingExecutor(
+            MeterRegistry meterRegistry,
+            @Value("${password.hashing.pool-size:0}") int poolSize,
+            @Value("${password.hashing.queue-capacity:64}") int queueCapacity
+    ) {
+        // Hashing is CPU-bound; default to one thread per core
+        int threads = poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors();
+        this.executor = new ThreadPoolExecutor(
+                threads,
+                threads,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                namedThreads(),
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+
+        this.securedExecutor = new DelegatingSecurityContextExecutor(executor);
+
+        this.queueWait = meterRegistry.timer("password.hashing.queue.wait");
+        this.rejected = meterRegistry.counter("password.hashing.rejected");
+        meterRegistry.gauge("password.hashing.queue.size", executor, e -> e.getQueue().size());
+        meterRegistry.gauge("password.hashing.active", executor, ThreadPoolExecutor::getActiveCount);
+    }
+
+    /**
+     * Runs the task on the hashing pool.
+     *
+     * @throws TooManyRequestsException if the pool and its queue are saturated
+     */
+    public <T> CompletableFuture<T> submit(Supplier<T> task) {
+        long enqueuedAt = System.nanoTime();
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                queueWait.record(System.nanoTime() - enqueuedAt, TimeUnit.NANOSECONDS);
+                return task.get();
+            }, securedExecutor);
+        } catch (RejectedExecutionException ex) {
+            rejected.increment();
+            throw new TooManyRequestsException("The server is busy. Please try again shortly.");
+        }
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(30, TimeUnit.SECONDS);
+    }
+
+    private static ThreadFactory namedThreads() {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "password-hashing-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,40 @@
+package com.notif.api.core.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * SHA-256 hashing for stored token secrets.
+ *
+ * Hashes are kept as raw 32-byte arrays (bytea) rather than 64-character hex strings. MessageDigest instances
+ * are not thread-safe and relatively costly to look up, so one is cached per thread and reset between uses.
+ */
+public final class TokenHasher {
+    public static final int HASH_BYTES = 32;
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            // Every Java platform is required to support SHA-256
+            throw new IllegalStateException(ex);
+        }
+    });
+
+    private TokenHasher() {}
+
+    public static byte[] sha256(String value) {
+        MessageDigest digest = SHA_256.get();
+        digest.reset();
+        return digest.digest(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Compares two hashes in constant time: the time taken depends only on the length of expected (the stored
+     * hash), never on where the hashes differ.
+     */
+    public static boolean matches(byte[] expected, byte[] actual) {
+        return MessageDigest.isEqual(expected, actual);
+    }
+}
@@ -20,6 +20,7 @@ public interface UserClient {
     UserResponse getUserByEmail(String email) throws UserClientException;
     UserAuthDetails getUserAuthDetailsById(UUID id) throws UserClientException;
     UserAuthDetails getUserAuthDetailsByEmail(String email) throws UserClientException;
+    UserAuthDetails upgradePasswordHash(UUID id, String currentHash, String upgradedHash) throws UserClientException;
     UserResponse enableUser(String verificationToken, String email) throws UserClientException;
     UserResponse requestVerification(String email) throws UserClientException;
 }
\ No newline at end of file
@@ -4,6 +4,7 @@ import com.notif.api.core.exception.*;
 import com.notif.api.user.api.dto.UserAuthDetails;
 import com.notif.api.user.api.dto.CreateUserRequest;
 import com.notif.api.user.api.dto.UserResponse;
+import com.notif.api.user.application.cache.UserAuthDetailsCache;
 import com.notif.api.user.application.service.UserService;
 import com.notif.api.user.application.service.VerificationTokenService;
 import lombok.AllArgsConstructor;
@@ -21,12 +22,15 @@ import java.util.UUID;
 public class UserClientImpl implements UserClient {
     private final UserService userService;
     private final VerificationTokenService tokenService;
+    private final UserAuthDetailsCache userAuthDetailsCache;
 
     /**
      * Creates a new user and returns its public representation. Used for Auth/Registration flow.
+     *
+     * Not transactional as a whole so the password is hashed outside any transaction; if the verification token
+     * cannot be generated, the user stays unverified and can request a new one.
      */
     @Override
-    @Transactional
     public UserResponse createUser(CreateUserRequest request) {
         try {
             UserResponse createdUser = userService.createUser(request);
@@ -72,13 +76,13 @@ public class UserClientImpl implements UserClient {
 
     /**
      * Returns authentication-specific details required by security layer (used for login, JWT generation, and
-     * Spring Security integration).
+     * Spring Security integration). Served from the near cache when possible.
      */
     @Override
     public UserAuthDetails getUserAuthDetailsById(UUID id) throws UserClientException {
         try {
             // Used by authentication layer (e.g., JWT / Spring Security)
-            return userService.getUserAuthDetailsById(id);
+            return userAuthDetailsCache.getById(id, userService::getUserAuthDetailsById);
         } catch (BusinessException ex) {
             throw ex;
         } catch (Exception ex) {
@@ -88,13 +92,29 @@ public class UserClientImpl implements UserClient {
 
     /**
      * Returns authentication-specific details required by security layer (used for login, JWT generation, and
-     * Spring Security integration).
+     * Spring Security integration). Served from the near cache when possible.
      */
     @Override
     public UserAuthDetails getUserAuthDetailsByEmail(String email) {
         try {
             // Used by authentication layer (e.g., JWT / Spring Security)
-            return userService.getUserAuthDetailsByEmail(email);
+            return userAuthDetailsCache.getByEmail(email, userService::getUserAuthDetailsByEmail);
+        } catch (BusinessException ex) {
+            throw ex;
+        } catch (Exception ex) {
+            throw new UserClientException("Unexpected error in user service.");
+        }
+    }
+
+    /**
+     * Re-hashes a user's password under the current hashing parameters after a successful login and returns the
+     * up-to-date authentication details. Used by Spring Security's password upgrade on login.
+     */
+    @Override
+    public UserAuthDetails upgradePasswordHash(UUID id, String currentHash, String upgradedHash) {
+        try {
+            userService.upgradePasswordHash(id, currentHash, upgradedHash);
+            return userAuthDetailsCache.getById(id, userService::getUserAuthDetailsById);
         } catch (BusinessException ex) {
             throw ex;
         } catch (Exception ex) {
@@ -107,7 +127,7 @@ public class UserClientImpl implements UserClient {
      * Used only during email verification flow.
      */
     @Override
-    @Transactional
+    @Transactional(noRollbackFor = UnauthorizedException.class)
     public UserResponse enableUser(String token, String email) {
         try {
             UserResponse user = userService.getUserByEmail(email);
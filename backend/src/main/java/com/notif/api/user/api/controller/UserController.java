@@ -2,6 +2,7 @@ package com.notif.api.user.api.controller;
 
 import com.notif.api.user.api.dto.*;
 import com.notif.api.core.dto.ApiResponse;
+import com.notif.api.core.security.PasswordHashingExecutor;
 import com.notif.api.user.application.service.UserService;
 import com.notif.api.user.application.service.VerificationTokenService;
 import jakarta.validation.Valid;
@@ -12,6 +13,7 @@ import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * REST controller for managing users.
@@ -21,6 +23,7 @@ import java.util.UUID;
  * Business rules / notes:
  * - Admin-only endpoints: create, get all users, delete.
  * - User can update own profile, email, and password. User can also delete own account.
+ * - Endpoints that hash passwords run on the {@link PasswordHashingExecutor} and complete asynchronously.
  */
 @RestController
 @RequestMapping("${api.prefix}/users")
@@ -28,17 +31,22 @@ import java.util.UUID;
 public class UserController {
     private final UserService userService;
     private final VerificationTokenService tokenService;
+    private final PasswordHashingExecutor passwordHashingExecutor;
 
     /**
      * Creates a new user (admin-only).
      */
     @PostMapping
-    public ResponseEntity<ApiResponse<UserResponse>> createUser(@RequestBody @Valid CreateUserRequest request) {
-        UserResponse createdUser = userService.createUser(request);
-        tokenService.generateVerificationToken(createdUser.getId());
+    public CompletableFuture<ResponseEntity<ApiResponse<UserResponse>>> createUser(
+            @RequestBody @Valid CreateUserRequest request
+    ) {
+        return passwordHashingExecutor.submit(() -> {
+            UserResponse createdUser = userService.createUser(request);
+            tokenService.generateVerificationToken(createdUser.getId());
 
-        return ResponseEntity.status(HttpStatus.CREATED)
-                .body(new ApiResponse<UserResponse>("User created successfully.", createdUser));
+            return ResponseEntity.status(HttpStatus.CREATED)
+                    .body(new ApiResponse<UserResponse>("User created successfully.", createdUser));
+        });
     }
 
     /**
@@ -100,13 +108,15 @@ public class UserController {
      * - Requires current password for verification.
      */
     @PatchMapping("/{id}/password")
-    public ResponseEntity<ApiResponse<Void>> changePassword(
+    public CompletableFuture<ResponseEntity<ApiResponse<Void>>> changePassword(
             @RequestBody @Valid ChangePasswordRequest request,
             @PathVariable UUID id
     ) {
-        userService.changePassword(request, id);
-        return ResponseEntity.status(HttpStatus.NO_CONTENT)
-                .body(new ApiResponse<Void>("Password changed successfully.", null));
+        return passwordHashingExecutor.submit(() -> {
+            userService.changePassword(request, id);
+            return ResponseEntity.status(HttpStatus.NO_CONTENT)
+                    .body(new ApiResponse<Void>("Password changed successfully.", null));
+        });
     }
 
     /**
@@ -16,6 +16,8 @@ public class UserAuthDetails {
     private UUID id;
     private String email;
     private String password;
+    private String firstName;
+    private String lastName;
     private Role role;
     private boolean enabled;
     private boolean accountNonExpired;
@@ -0,0 +1,100 @@
+package com.notif.api.user.application.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.notif.api.user.api.dto.UserAuthDetails;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Bounded in-process cache of {@link UserAuthDetails}, looked up by user ID or by email.
+ *
+ * Entries are keyed by ID; the email index only maps an email to an ID and is verified against the cached entry
+ * on every hit, so a stale index entry can never return another user's details. Entries expire after a fixed
+ * TTL and are evicted explicitly whenever the user's authentication data changes.
+ *
+ * Hit/miss/eviction metrics are published as "cache.*" meters with cache=user.auth-details.
+ */
+@Component
+public class UserAuthDetailsCache {
+    private final Cache<UUID, UserAuthDetails> byId;
+    private final Cache<String, UUID> idByEmail;
+
+    public UserAuthDetailsCache(
+            MeterRegistry meterRegistry,
+            @Value("${user.auth-cache.maximum-size:10000}") long maximumSize,
+            @Value("${user.auth-cache.ttl:300}") long ttlSeconds
+    ) {
+        this.byId = CaffeineCacheMetrics.monitor(meterRegistry, Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .<UUID, UserAuthDetails>build(), "user.auth-details");
+        this.idByEmail = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+    }
+
+    /**
+     * Returns the cached details for the user ID, loading them on a miss.
+     */
+    public UserAuthDetails getById(UUID id, Function<UUID, UserAuthDetails> loader) {
+        return byId.get(id, key -> {
+            UserAuthDetails user = loader.apply(key);
+            idByEmail.put(normalize(user.getEmail()), key);
+            return user;
+        });
+    }
+
+    /**
+     * Returns the cached details for the email, loading them on a miss.
+     */
+    public UserAuthDetails getByEmail(String email, Function<String, UserAuthDetails> loader) {
+        String key = normalize(email);
+        UUID id = idByEmail.getIfPresent(key);
+        if (id != null) {
+            UserAuthDetails cached = byId.getIfPresent(id);
+            if (cached != null && key.equals(normalize(cached.getEmail()))) {
+                return cached;
+            }
+        }
+
+        UserAuthDetails user = loader.apply(email);
+        byId.put(user.getId(), user);
+        idByEmail.put(key, user.getId());
+
+        return user;
+    }
+
+    /**
+     * Evicts the user's entry now and, if called inside a transaction, again once it commits so a concurrent
+     * reader cannot re-cache the pre-commit state.
+     */
+    public void evict(UUID id) {
+        byId.invalidate(id);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    byId.invalidate(id);
+                }
+            });
+        }
+    }
+
+    // Emails are stored as citext, so lookups are case-insensitive
+    private static String normalize(String email) {
+        return email.toLowerCase(Locale.ROOT);
+    }
+}
@@ -22,5 +22,6 @@ public interface UserService {
     UserResponse updateUserProfile(UpdateUserProfileRequest request, UUID id);
     UserResponse changeEmail(ChangeEmailRequest request, UUID id);
     void changePassword(ChangePasswordRequest request, UUID id);
+    boolean upgradePasswordHash(UUID id, String currentHash, String upgradedHash);
     void deleteUser(UUID id);
 }
\ No newline at end of file
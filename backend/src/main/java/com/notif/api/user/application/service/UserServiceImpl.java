@@ -6,6 +6,7 @@ import com.notif.api.core.exception.NotFoundException;
 import com.notif.api.core.exception.ValidationException;
 import com.notif.api.user.api.dto.*;
 import com.notif.api.user.api.dto.CreateUserRequest;
+import com.notif.api.user.application.cache.UserAuthDetailsCache;
 import com.notif.api.user.domain.event.PasswordChangedEvent;
 import com.notif.api.user.domain.event.UserDeletedEvent;
 import com.notif.api.user.domain.model.Role;
@@ -18,6 +19,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.List;
 import java.util.UUID;
@@ -35,36 +37,49 @@ public class UserServiceImpl implements UserService {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final EventPublisher eventPublisher;
+    private final UserAuthDetailsCache userAuthDetailsCache;
+    private final TransactionTemplate transactionTemplate;
 
     /**
      * Creates a new user with default USER role and disabled verification status.
      * Also generates a verification token after user persistence.
+     *
+     * The password is hashed before the transaction is opened, so no connection is held while hashing.
      */
     @Override
-    @Transactional
     public UserResponse createUser(CreateUserRequest request) {
-        if (userRepository.existsByEmail(request.getEmail())) {
+        // Reject known emails before paying for the hash; re-checked inside the transaction
+        assertEmailAvailable(request.getEmail());
+        String passwordHash = passwordEncoder.encode(request.getPassword());
+
+        return transactionTemplate.execute(status -> {
+            assertEmailAvailable(request.getEmail());
+
+            User newUser = User.builder()
+                    .firstName(request.getFirstName().strip())
+                    .lastName(request.getLastName().strip())
+                    .email(request.getEmail())
+                    .password(passwordHash)
+                    .role(Role.USER)
+                    .enabled(false)
+                    .accountNonExpired(true)
+                    .accountNonLocked(true)
+                    .credentialsNonExpired(true)
+                    .build();
+
+            User savedUser = userRepository.save(newUser);
+
+            return convertUserToResponse(savedUser);
+        });
+    }
+
+    private void assertEmailAvailable(String email) {
+        if (userRepository.existsByEmail(email)) {
             throw new ConflictException(
-                    "User with email '" + request.getEmail() + "' already exists.",
+                    "User with email '" + email + "' already exists.",
                     ErrorCode.USER_ALREADY_EXISTS
             );
         }
-
-        User newUser = User.builder()
-                .firstName(request.getFirstName().strip())
-                .lastName(request.getLastName().strip())
-                .email(request.getEmail())
-                .password(passwordEncoder.encode(request.getPassword()))
-                .role(Role.USER)
-                .enabled(false)
-                .accountNonExpired(true)
-                .accountNonLocked(true)
-                .credentialsNonExpired(true)
-                .build();
-
-        User savedUser = userRepository.save(newUser);
-
-        return convertUserToResponse(savedUser);
     }
 
     /**
@@ -159,6 +174,7 @@ public class UserServiceImpl implements UserService {
         }
 
         user.setEnabled(true);
+        userAuthDetailsCache.evict(user.getId());
 
         return convertUserToResponse(user);
     }
@@ -185,6 +201,7 @@ public class UserServiceImpl implements UserService {
 
         if (!Util.isNullOrBlank(firstName)) user.setFirstName(firstName.strip());
         if (!Util.isNullOrBlank(lastName)) user.setLastName(lastName.strip());
+        userAuthDetailsCache.evict(user.getId());
 
         return convertUserToResponse(user);
     }
@@ -215,34 +232,77 @@ public class UserServiceImpl implements UserService {
         }
 
         user.setEmail(request.getNewEmail());
+        userAuthDetailsCache.evict(user.getId());
 
         return convertUserToResponse(user);
     }
 
     /**
      * Changes user password after validating current password.
+     *
+     * Both checks and the new hash are computed outside the transaction, so no connection is held while
+     * hashing. The update only applies if the stored hash is still the one that was verified.
      */
     @Override
-    @Transactional
     public void changePassword(ChangePasswordRequest request, UUID id) {
-        User user = userRepository.findById(id)
+        String currentHash = userRepository.findById(id)
+                .map(User::getPassword)
                 .orElseThrow(() -> new NotFoundException(
                         "User with ID " + id + " not found.",
                         ErrorCode.USER_NOT_FOUND
                 ));
 
         // Verify current password before allowing sensitive changes
-        if (!passwordEncoder.matches(request.getCurrentPassword(), user.getPassword())) {
+        if (!passwordEncoder.matches(request.getCurrentPassword(), currentHash)) {
             throw new InvalidPasswordException("The password provided is incorrect.", ErrorCode.USER_INVALID_CREDENTIALS);
         }
         // Verify if new password is different from current password
-        if (passwordEncoder.matches(request.getPassword(), user.getPassword())) {
+        if (passwordEncoder.matches(request.getPassword(), currentHash)) {
             throw new ValidationException("New password must differ from current password.", ErrorCode.USER_SAME_PASSWORD);
         }
 
-        user.setPassword(passwordEncoder.encode(request.getPassword()));
+        String newHash = passwordEncoder.encode(request.getPassword());
+
+        transactionTemplate.executeWithoutResult(status -> {
+            User user = userRepository.findById(id)
+                    .orElseThrow(() -> new NotFoundException(
+                            "User with ID " + id + " not found.",
+                            ErrorCode.USER_NOT_FOUND
+                    ));
+            // The password changed while hashing; the current password was verified against a stale hash
+            if (!user.getPassword().equals(currentHash)) {
+                throw new InvalidPasswordException("The password provided is incorrect.", ErrorCode.USER_INVALID_CREDENTIALS);
+            }
 
-        eventPublisher.publish(new PasswordChangedEvent(user.getId()));
+            user.setPassword(newHash);
+
+            eventPublisher.publish(new PasswordChangedEvent(user.getId()));
+        });
+    }
+
+    /**
+     * Replaces the stored hash with one computed under the current hashing parameters. The password itself is
+     * unchanged, so unlike changePassword no PasswordChangedEvent is published and sessions stay valid.
+     *
+     * Skipped (returns false) if the stored hash is no longer the one that was verified, e.g. because the password
+     * was changed concurrently.
+     */
+    @Override
+    @Transactional
+    public boolean upgradePasswordHash(UUID id, String currentHash, String upgradedHash) {
+        User user = userRepository.findById(id)
+                .orElseThrow(() -> new NotFoundException(
+                        "User with ID " + id + " not found.",
+                        ErrorCode.USER_NOT_FOUND
+                ));
+        if (!user.getPassword().equals(currentHash)) {
+            return false;
+        }
+
+        user.setPassword(upgradedHash);
+        userAuthDetailsCache.evict(id);
+
+        return true;
     }
 
     /**
@@ -286,6 +346,8 @@ public class UserServiceImpl implements UserService {
                 .id(user.getId())
                 .email(user.getEmail())
                 .password(user.getPassword())
+                .firstName(user.getFirstName())
+                .lastName(user.getLastName())
                 .role(user.getRole())
                 .enabled(user.isEnabled())
                 .accountNonExpired(user.isAccountNonExpired())
@@ -10,10 +10,10 @@ import com.notif.api.user.domain.repository.VerificationTokenRepository;
 import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
+import java.util.Optional;
 import java.util.UUID;
 
 /**
@@ -34,11 +34,11 @@ public class VerificationTokenServiceImpl implements VerificationTokenService {
     @Override
     @Transactional
     public void generateVerificationToken(UUID userId) {
-        String tokenString = UUID.randomUUID().toString();
+        UUID tokenValue = UUID.randomUUID();
         User userProxy = entityManager.getReference(User.class, userId);
 
         VerificationToken token = VerificationToken.builder()
-                .token(tokenString)
+                .token(tokenValue)
                 .user(userProxy)
                 .expiresAt(Instant.now().plusSeconds(VerificationToken.EXPIRATION))
                 .status(TokenStatus.PENDING)
@@ -47,24 +47,19 @@ public class VerificationTokenServiceImpl implements VerificationTokenService {
         VerificationToken savedToken = tokenRepository.save(token);
 
         // Publish event for async email notification
-        eventPublisher.publish(new VerificationRequestedEvent(userProxy.getId(), savedToken.getToken()));
+        eventPublisher.publish(new VerificationRequestedEvent(userProxy.getId(), savedToken.getToken().toString()));
     }
 
     /**
      * Validates verification tokens and updates token status accordingly.
+     * Joins the caller's transaction; the EXPIRED status is kept because neither this method nor its caller
+     * rolls back for UnauthorizedException.
      */
     @Override
-    @Transactional(
-            propagation = Propagation.REQUIRES_NEW,
-            noRollbackFor = UnauthorizedException.class
-    )
+    @Transactional(noRollbackFor = UnauthorizedException.class)
     public void validateVerificationToken(String tokenString, UUID userId) {
         // Check if token exists
-        VerificationToken token = tokenRepository.findByToken(tokenString)
-                .orElseThrow(() -> new NotFoundException(
-                        "Verification token is either malformed or invalid.",
-                        ErrorCode.USER_VERIFICATION_TOKEN_NOT_FOUND
-                ));
+        VerificationToken token = findToken(tokenString);
 
         // Check token validity
         if (!userId.equals(token.getUser().getId())) {
@@ -86,7 +81,7 @@ public class VerificationTokenServiceImpl implements VerificationTokenService {
             );
         }
         if (Instant.now().isAfter(token.getExpiresAt())) {
-            token.setStatus(TokenStatus.EXPIRED); // set status to expired; to be deleted by batch
+            token.setStatus(TokenStatus.EXPIRED); // set status to expired; deleted by VerificationTokenPurgeJob
 
             throw new UnauthorizedException(
                     "The verification link has expired. Please request a new one.",
@@ -101,11 +96,7 @@ public class VerificationTokenServiceImpl implements VerificationTokenService {
     @Override
     @Transactional
     public void consumeToken(String tokenString) {
-        VerificationToken token = tokenRepository.findByToken(tokenString)
-                .orElseThrow(() -> new NotFoundException(
-                        "Verification token is either malformed or invalid.",
-                        ErrorCode.USER_VERIFICATION_TOKEN_NOT_FOUND
-                ));
+        VerificationToken token = findToken(tokenString);
 
         token.setStatus(TokenStatus.VERIFIED);
     }
@@ -119,4 +110,21 @@ public class VerificationTokenServiceImpl implements VerificationTokenService {
         User userProxy = entityManager.getReference(User.class, userId);
         tokenRepository.voidPendingTokensByUser(userProxy, TokenStatus.VOIDED, TokenStatus.PENDING);
     }
-}
\ No newline at end of file
+
+    /**
+     * Looks up a token by its string form; malformed tokens are reported the same way as unknown ones.
+     */
+    private VerificationToken findToken(String tokenString) {
+        Optional<VerificationToken> token;
+        try {
+            token = tokenRepository.findByToken(UUID.fromString(tokenString));
+        } catch (IllegalArgumentException ex) {
+            token = Optional.empty();
+        }
+
+        return token.orElseThrow(() -> new NotFoundException(
+                "Verification token is either malformed or invalid.",
+                ErrorCode.USER_VERIFICATION_TOKEN_NOT_FOUND
+        ));
+    }
+}
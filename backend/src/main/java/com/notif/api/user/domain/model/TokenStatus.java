@@ -4,5 +4,5 @@ public enum TokenStatus {
     PENDING,        // Created but not yet used
     VERIFIED,       // Successfully used for verification
     VOIDED,         // Manually invalidated
-    EXPIRED         // Past its validity duration (will be deleted through batch processing)
+    EXPIRED         // Past its validity duration (deleted by VerificationTokenPurgeJob)
 }
\ No newline at end of file
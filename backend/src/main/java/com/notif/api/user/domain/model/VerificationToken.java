@@ -7,6 +7,7 @@ import org.hibernate.annotations.OnDelete;
 import org.hibernate.annotations.OnDeleteAction;
 
 import java.time.Instant;
+import java.util.UUID;
 
 import static com.notif.api.core.constants.AppConstants.*;
 
@@ -23,8 +24,9 @@ public class VerificationToken extends BaseEntity {
     @GeneratedValue(strategy = GenerationType.AUTO)
     private Long id;
 
+    // Native uuid column (16 bytes) instead of its 36-character text form
     @Column(nullable = false, unique = true)
-    private String token;
+    private UUID token;
 
     @ManyToOne(targetEntity = User.class, fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "user_id", nullable = false)
@@ -5,12 +5,13 @@ import com.notif.api.user.domain.model.User;
 import com.notif.api.user.domain.model.VerificationToken;
 
 import java.util.Optional;
+import java.util.UUID;
 
 /**
  * Repository interface for VerificationToken entity.
  */
 public interface VerificationTokenRepository {
     VerificationToken save(VerificationToken token);
-    Optional<VerificationToken> findByToken(String token);
+    Optional<VerificationToken> findByToken(UUID token);
     void voidPendingTokensByUser(User user, TokenStatus newStatus, TokenStatus currentStatus);
 }
\ No newline at end of file
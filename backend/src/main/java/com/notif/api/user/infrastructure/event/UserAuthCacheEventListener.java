@@ -0,0 +1,30 @@
+package com.notif.api.user.infrastructure.event;
+
+import com.notif.api.user.application.cache.UserAuthDetailsCache;
+import com.notif.api.user.domain.event.PasswordChangedEvent;
+import com.notif.api.user.domain.event.UserDeletedEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Evicts cached authentication details when a user's credentials change or the user is deleted.
+ *
+ * Runs synchronously after commit so the next lookup already sees the committed state.
+ */
+@Component
+@RequiredArgsConstructor
+public class UserAuthCacheEventListener {
+    private final UserAuthDetailsCache userAuthDetailsCache;
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void handlePasswordChangedEvent(PasswordChangedEvent event) {
+        userAuthDetailsCache.evict(event.getUserId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void handleUserDeletedEvent(UserDeletedEvent event) {
+        userAuthDetailsCache.evict(event.getUserId());
+    }
+}
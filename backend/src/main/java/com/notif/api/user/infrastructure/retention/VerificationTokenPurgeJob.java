@@ -0,0 +1,123 @@
+package com.notif.api.user.infrastructure.retention;
+
+import com.notif.api.core.scheduling.JobContext;
+import com.notif.api.core.scheduling.JobDefinition;
+import com.notif.api.core.scheduling.JobScheduler;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+/**
+ * Batch job that expires overdue PENDING verification tokens and deletes finished ones (EXPIRED, VOIDED, VERIFIED).
+ *
+ * Finished tokens are kept for user.verification-token.retention past their expiry so an old link still gets a
+ * meaningful answer (e.g., "already verified") for a while. Both steps walk the table in primary key order, one
+ * bounded chunk per statement; every chunk commits on its own and is followed by a pause, so the job never holds
+ * locks or a transaction for long and leaves room for registration traffic.
+ *
+ * Runs as a clustered job on user.verification-token.purge.cron; the lease is renewed after every chunk.
+ */
+@Component
+public class VerificationTokenPurgeJob {
+    private static final String EXPIRE_CHUNK = """
+        WITH chunk AS (
+            SELECT id
+            FROM verification_token
+            WHERE id > ?
+              AND status = 'PENDING'
+              AND expires_at < ?
+            ORDER BY id
+            LIMIT ?
+        )
+        UPDATE verification_token t
+        SET status = 'EXPIRED'
+        FROM chunk
+        WHERE t.id = chunk.id
+        RETURNING t.id
+    """;
+
+    private static final String DELETE_CHUNK = """
+        WITH chunk AS (
+            SELECT id
+            FROM verification_token
+            WHERE id > ?
+              AND status IN ('EXPIRED', 'VOIDED', 'VERIFIED')
+              AND expires_at < ?
+            ORDER BY id
+            LIMIT ?
+        )
+        DELETE FROM verification_token t
+        USING chunk
+        WHERE t.id = chunk.id
+        RETURNING t.id
+    """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Duration retention;
+    private final int chunkSize;
+    private final Duration pause;
+
+    private final Counter expiredTokens;
+    private final Counter deletedTokens;
+
+    public VerificationTokenPurgeJob(
+            JdbcTemplate jdbcTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${user.verification-token.retention:P7D}") Duration retention,
+            @Value("${user.verification-token.purge.chunk-size:1000}") int chunkSize,
+            @Value("${user.verification-token.purge.pause:PT0.2S}") Duration pause,
+            @Value("${user.verification-token.purge.cron:0 45 3 * * *}") String cron,
+            JobScheduler jobScheduler
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.retention = retention;
+        this.chunkSize = chunkSize;
+        this.pause = pause;
+
+        this.expiredTokens = meterRegistry.counter("user.verification-token.expired");
+        this.deletedTokens = meterRegistry.counter("user.verification-token.deleted");
+
+        jobScheduler.register(JobDefinition.builder()
+                .name("verification-token-purge")
+                .cron(cron)
+                .clustered(true)
+                .task(this::purge)
+                .build());
+    }
+
+    public void purge(JobContext context) throws InterruptedException {
+        Instant now = Instant.now();
+        expiredTokens.increment(runInChunks(EXPIRE_CHUNK, now, context));
+        deletedTokens.increment(runInChunks(DELETE_CHUNK, now.minus(retention), context));
+    }
+
+    /**
+     * Runs the chunk statement from the lowest id upwards, continuing after the highest id the previous chunk
+     * touched, until a chunk comes back short. Returns the number of rows touched.
+     */
+    private long runInChunks(String sql, Instant expiredBefore, JobContext context) throws InterruptedException {
+        OffsetDateTime before = OffsetDateTime.ofInstant(expiredBefore, ZoneOffset.UTC);
+        long afterId = 0;
+        long total = 0;
+
+        while (true) {
+            List<Long> ids = jdbcTemplate.queryForList(sql, Long.class, afterId, before, chunkSize);
+            total += ids.size();
+            if (ids.size() < chunkSize) {
+                return total;
+            }
+
+            afterId = ids.stream().mapToLong(Long::longValue).max().orElseThrow();
+            context.heartbeat();
+            Thread.sleep(pause);
+        }
+    }
+}
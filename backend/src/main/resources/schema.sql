@@ -0,0 +1,72 @@
+-- Runs after Hibernate has created the schema (spring.jpa.defer-datasource-initialization).
+-- Statements must be idempotent and are separated by ^; (spring.sql.init.separator) so that
+-- procedural blocks can contain semicolons.
+
+-- refresh_token is range-partitioned by expires_at so expired tokens are removed by dropping whole
+-- partitions instead of row deletes (see RefreshTokenPartitionManager, which creates the daily partitions).
+-- Hibernate creates it as a plain table; it is converted here while it is still empty. Partitioned tables
+-- need the partition key in the primary key, hence (id, expires_at). Presented tokens carry the day of their
+-- expires_at, so lookups and rotation filter on it and read a single partition.
+DO $$
+BEGIN
+    IF NOT EXISTS (
+        SELECT 1
+        FROM pg_partitioned_table p
+        JOIN pg_class c ON c.oid = p.partrelid
+        WHERE c.oid = 'refresh_token'::regclass
+    ) THEN
+        ALTER TABLE refresh_token RENAME TO refresh_token_unpartitioned;
+        -- Renaming the table keeps its primary key index name, which the new table's primary key needs
+        ALTER TABLE refresh_token_unpartitioned
+            RENAME CONSTRAINT refresh_token_pkey TO refresh_token_unpartitioned_pkey;
+
+        CREATE TABLE refresh_token (LIKE refresh_token_unpartitioned INCLUDING DEFAULTS INCLUDING CONSTRAINTS)
+            PARTITION BY RANGE (expires_at);
+        ALTER TABLE refresh_token ADD CONSTRAINT refresh_token_pkey PRIMARY KEY (id, expires_at);
+        ALTER TABLE refresh_token ADD CONSTRAINT refresh_token_session_fk
+            FOREIGN KEY (session_id) REFERENCES session (id);
+
+        -- Catches rows outside the daily partitions so inserts never fail
+        CREATE TABLE refresh_token_default PARTITION OF refresh_token DEFAULT;
+
+        INSERT INTO refresh_token SELECT * FROM refresh_token_unpartitioned;
+        DROP TABLE refresh_token_unpartitioned;
+    END IF;
+END
+$$^;
+
+CREATE INDEX IF NOT EXISTS refresh_token_session_idx
+    ON refresh_token (session_id)^;
+
+-- Live refresh tokens (unused and unrevoked): at most one per session, the token family.
+-- Revocation by user or session only touches these, so its cost does not grow with token history.
+CREATE INDEX IF NOT EXISTS refresh_token_live_user_idx
+    ON refresh_token (user_id)
+    WHERE used_at IS NULL AND revoked_at IS NULL^;
+
+CREATE INDEX IF NOT EXISTS refresh_token_live_session_idx
+    ON refresh_token (session_id)
+    WHERE used_at IS NULL AND revoked_at IS NULL^;
+
+-- Profiles still holding the fallback classification, for UnknownDeviceBackfill; normally empty.
+CREATE INDEX IF NOT EXISTS device_profile_unanalyzed_idx
+    ON device_profile (id)
+    WHERE NOT analyzed^;
+
+-- Leases for clustered jobs (see JobLeaseRepository). Not an entity, so it survives schema re-creation.
+CREATE TABLE IF NOT EXISTS job_lease (
+    name                varchar(100) PRIMARY KEY,
+    owner               varchar(255),
+    token               bigint NOT NULL DEFAULT 0,
+    lease_until         timestamp with time zone,
+    last_scheduled_time timestamp with time zone
+)^;
+
+-- Polled by every node for recently bumped epochs (see SecurityEpochServiceImpl)
+CREATE INDEX IF NOT EXISTS user_security_epoch_updated_at_idx
+    ON user_security_epoch (updated_at)^;
+
+-- Polled by every node for recently revoked sessions (see RevokedSessionRegistry)
+CREATE INDEX IF NOT EXISTS session_revoked_at_idx
+    ON session (revoked_at)
+    WHERE revoked_at IS NOT NULL^;
@@ -0,0 +1,153 @@
+package com.notif.api.auth.application.service;
+
+import com.notif.api.auth.application.dto.AuthenticationRequestContext;
+import com.notif.api.auth.application.dto.RefreshTokenDto;
+import com.notif.api.auth.domain.exception.SessionExpiredException;
+import com.notif.api.support.AuthFixtures;
+import com.notif.api.support.PostgresIntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@Import(AuthFixtures.class)
+class AuthenticationServiceImplTest extends PostgresIntegrationTest {
+    private static final int CONCURRENT_REFRESHES = 8;
+
+    @Autowired
+    private AuthenticationService authenticationService;
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @Autowired
+    private AuthFixtures fixtures;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${admin.email}")
+    private String adminEmail;
+
+    @Test
+    void concurrentRefreshesRotateOnceAndLosersGetTheGraceResponse() throws Exception {
+        UUID userId = jdbcTemplate.queryForObject("SELECT id FROM _user WHERE email = ?", UUID.class, adminEmail);
+        UUID cookieDeviceId = UUID.randomUUID();
+        UUID deviceId = fixtures.insertDevice(cookieDeviceId);
+        RefreshTokenDto issued = refreshTokenService.openSession(userId, deviceId, "127.0.0.1");
+        AuthenticationRequestContext context = AuthenticationRequestContext.builder()
+                .deviceId(cookieDeviceId.toString())
+                .clientIp("127.0.0.1")
+                .build();
+
+        // Every tab refreshes with the same token at once
+        CountDownLatch start = new CountDownLatch(1);
+        List<Callable<String>> refreshes = new ArrayList<>();
+        for (int i = 0; i < CONCURRENT_REFRESHES; i++) {
+            refreshes.add(() -> {
+                start.await();
+                return authenticationService.refresh(issued.getToken(), context).getCookies().getRefreshToken();
+            });
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(CONCURRENT_REFRESHES);
+        List<String> returnedTokens = new ArrayList<>();
+        try {
+            List<Future<String>> results = refreshes.stream().map(executor::submit).toList();
+            start.countDown();
+            for (Future<String> result : results) {
+                // Throws if any refresh was rejected
+                returnedTokens.add(result.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // One winner receives the successor; every loser gets the presented token back
+        assertThat(returnedTokens).filteredOn(token -> !token.equals(issued.getToken())).hasSize(1);
+        assertThat(returnedTokens).filteredOn(token -> token.equals(issued.getToken()))
+                .hasSize(CONCURRENT_REFRESHES - 1);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM refresh_token WHERE session_id = ?",
+                Integer.class,
+                issued.getSessionId()
+        )).isEqualTo(2);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT status FROM session WHERE id = ?",
+                String.class,
+                issued.getSessionId()
+        )).isEqualTo("ACTIVE");
+    }
+
+    @Test
+    void refreshOfAnExpiredSessionCommitsTheExpiry() {
+        UUID userId = jdbcTemplate.queryForObject("SELECT id FROM _user WHERE email = ?", UUID.class, adminEmail);
+        UUID cookieDeviceId = UUID.randomUUID();
+        RefreshTokenDto issued = refreshTokenService.openSession(userId, fixtures.insertDevice(cookieDeviceId), null);
+        jdbcTemplate.update(
+                "UPDATE session SET expires_at = now() - interval '1 day' WHERE id = ?",
+                issued.getSessionId()
+        );
+        AuthenticationRequestContext context = AuthenticationRequestContext.builder()
+                .deviceId(cookieDeviceId.toString())
+                .build();
+
+        assertThatThrownBy(() -> authenticationService.refresh(issued.getToken(), context))
+                .isInstanceOf(SessionExpiredException.class);
+
+        Map<String, Object> session = jdbcTemplate.queryForMap(
+                "SELECT status, revoked_reason, revoked_at FROM session WHERE id = ?",
+                issued.getSessionId()
+        );
+        assertThat(session.get("status")).isEqualTo("EXPIRED");
+        assertThat(session.get("revoked_reason")).isEqualTo("ABSOLUTE_EXPIRATION");
+        assertThat(session.get("revoked_at")).isNotNull();
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT revoked_at IS NOT NULL FROM refresh_token WHERE id = ?",
+                Boolean.class,
+                issued.getId()
+        )).isTrue();
+    }
+
+    @Test
+    void refreshTokensCarryTheirExpiryDayAndEarlierTokensStillRotate() {
+        UUID userId = jdbcTemplate.queryForObject("SELECT id FROM _user WHERE email = ?", UUID.class, adminEmail);
+        UUID cookieDeviceId = UUID.randomUUID();
+        RefreshTokenDto issued = refreshTokenService.openSession(userId, fixtures.insertDevice(cookieDeviceId), null);
+        AuthenticationRequestContext context = AuthenticationRequestContext.builder()
+                .deviceId(cookieDeviceId.toString())
+                .build();
+
+        String[] parts = issued.getToken().split("\\.");
+        Long storedExpiryDay = jdbcTemplate.queryForObject(
+                "SELECT (expires_at AT TIME ZONE 'UTC')::date - DATE '1970-01-01' FROM refresh_token WHERE id = ?",
+                Long.class,
+                issued.getId()
+        );
+        assertThat(parts).hasSize(3);
+        assertThat(Long.parseLong(parts[1])).isEqualTo(storedExpiryDay);
+
+        // A token in the earlier "<id>.<secret>" format is still accepted and rotated into the new one
+        String legacyToken = parts[0] + "." + parts[2];
+        String rotated = authenticationService.refresh(legacyToken, context).getCookies().getRefreshToken();
+
+        assertThat(rotated).isNotEqualTo(legacyToken);
+        assertThat(rotated.split("\\.")).hasSize(3);
+        assertThat(authenticationService.refresh(rotated, context).getCookies().getRefreshToken())
+                .isNotEqualTo(rotated);
+    }
+}
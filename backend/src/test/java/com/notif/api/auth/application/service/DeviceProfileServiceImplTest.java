@@ -0,0 +1,118 @@
+package com.notif.api.auth.application.service;
+
+import com.notif.api.auth.application.dto.DeviceProfileDto;
+import com.notif.api.auth.domain.model.DeviceProfile;
+import com.notif.api.auth.domain.repository.DeviceProfileRepository;
+import com.notif.api.auth.infrastructure.useragent.UserAgentClassification;
+import com.notif.api.auth.infrastructure.useragent.UserAgentClassifier;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class DeviceProfileServiceImplTest {
+    private static final String USER_AGENT = "Mozilla/5.0 (X11; Linux x86_64) Chrome/120.0 Safari/537.36";
+    private static final UserAgentClassification ANALYZED =
+            new UserAgentClassification("Desktop", "Linux Desktop", "Linux", "Chrome");
+
+    private DeviceProfileRepository repository;
+    private UserAgentClassifier classifier;
+    private DeviceProfileServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(DeviceProfileRepository.class);
+        classifier = mock(UserAgentClassifier.class);
+        service = new DeviceProfileServiceImpl(repository, classifier, new SimpleMeterRegistry(), 100);
+        when(classifier.classify(anyString())).thenReturn(ANALYZED);
+    }
+
+    @Test
+    void internsTheStoredRowRatherThanItsOwnClassification() {
+        when(classifier.isAnalyzerReady()).thenReturn(true);
+        storesOnInsert(profile("Mobile", "Safari on iOS", true));
+
+        DeviceProfileDto first = service.intern(USER_AGENT);
+        DeviceProfileDto second = service.intern(USER_AGENT);
+
+        assertThat(first.getName()).isEqualTo("Safari on iOS");
+        assertThat(second).isSameAs(first);
+        verify(classifier, times(1)).classify(anyString());
+    }
+
+    @Test
+    void doesNotInternFallbackResults() {
+        when(classifier.isAnalyzerReady()).thenReturn(false);
+        storesOnInsert(profile("Desktop", "Chrome on Linux", false));
+
+        service.intern(USER_AGENT);
+        service.intern(USER_AGENT);
+
+        verify(classifier, times(2)).classify(anyString());
+        verify(repository, never()).updateAnalyzedClassification(any(), any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void replacesAStoredFallbackClassificationOnceTheAnalyzerIsReady() {
+        when(classifier.isAnalyzerReady()).thenReturn(true);
+        storesOnInsert(profile("Desktop", "Chrome on Linux", false));
+        when(repository.updateAnalyzedClassification(any(), any(), any(), any(), any(), any(), any())).thenReturn(1);
+
+        DeviceProfileDto profile = service.intern(USER_AGENT);
+        service.intern(USER_AGENT);
+
+        assertThat(profile.getName()).isEqualTo(ANALYZED.deviceName());
+        assertThat(profile.getModel()).isEqualTo(ANALYZED.model());
+        verify(classifier, times(1)).classify(anyString());
+    }
+
+    @Test
+    void readsProfilesThroughTheInternMapOnlyOnceAnalyzed() {
+        DeviceProfile analyzed = profile("Desktop", "Chrome on Linux", true);
+        DeviceProfile fallback = profile("Desktop", "Chrome on Linux", false);
+        fallback.setId(new UUID(1, 2));
+        when(repository.findById(analyzed.getId())).thenReturn(Optional.of(analyzed));
+        when(repository.findById(fallback.getId())).thenReturn(Optional.of(fallback));
+
+        service.getProfile(analyzed.getId());
+        service.getProfile(analyzed.getId());
+        service.getProfile(fallback.getId());
+        service.getProfile(fallback.getId());
+
+        verify(repository, times(1)).findById(analyzed.getId());
+        verify(repository, times(2)).findById(fallback.getId());
+    }
+
+    /**
+     * Makes findOrInsert return the given row (as if it had been stored earlier) under the requested id.
+     */
+    private void storesOnInsert(DeviceProfile stored) {
+        when(repository.findOrInsert(any(), anyString(), any(), any(), any(), any(), any(), anyBoolean(), any()))
+                .thenAnswer(invocation -> {
+                    stored.setId(invocation.getArgument(0));
+                    return Optional.of(stored);
+                });
+    }
+
+    private static DeviceProfile profile(String type, String name, boolean analyzed) {
+        return DeviceProfile.builder()
+                .id(new UUID(3, 4))
+                .userAgent(USER_AGENT)
+                .type(type)
+                .name(name)
+                .analyzed(analyzed)
+                .build();
+    }
+}
@@ -0,0 +1,86 @@
+package com.notif.api.auth.application.service;
+
+import com.notif.api.auth.api.dto.LoginRequest;
+import com.notif.api.auth.application.dto.AuthenticationRequestContext;
+import com.notif.api.support.AuthFixtures;
+import com.notif.api.support.PostgresIntegrationTest;
+import com.notif.api.support.StatementCounter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Pins the number of statements a login issues once credentials are verified, so a regression back to
+ * find-then-write round trips fails here rather than under load.
+ */
+@Import(AuthFixtures.class)
+@TestPropertySource(properties =
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.notif.api.support.StatementCounter")
+class LoginStatementCountTest extends PostgresIntegrationTest {
+    @Autowired
+    private AuthenticationService authenticationService;
+
+    @Autowired
+    private AuthFixtures fixtures;
+
+    @Value("${admin.email}")
+    private String adminEmail;
+
+    @Value("${admin.password}")
+    private String adminPassword;
+
+    @BeforeEach
+    void warmUp() {
+        // Loads the user's auth details into their cache and settles the password hash, so only the login's own
+        // statements are counted below
+        login(UUID.randomUUID());
+    }
+
+    @Test
+    void loginOnAKnownDeviceIssuesThreeStatements() {
+        // Devices share profiles, so a known device's profile is usually cached already
+        UUID profileId = UUID.randomUUID();
+        fixtures.insertProfile(profileId, "test-agent-" + profileId, true);
+        UUID otherDevice = UUID.randomUUID();
+        fixtures.insertDevice(otherDevice, profileId);
+        login(otherDevice);
+        UUID cookieDeviceId = UUID.randomUUID();
+        fixtures.insertDevice(cookieDeviceId, profileId);
+
+        StatementCounter.reset();
+        login(cookieDeviceId);
+
+        // Device lookup, user device upsert, and session replacement with refresh token issuance
+        assertThat(StatementCounter.statements()).hasSize(3);
+    }
+
+    @Test
+    void loginOnACachedDeviceSkipsTheDeviceLookup() {
+        UUID cookieDeviceId = UUID.randomUUID();
+        fixtures.insertDevice(cookieDeviceId);
+        login(cookieDeviceId);
+
+        StatementCounter.reset();
+        login(cookieDeviceId);
+
+        assertThat(StatementCounter.statements()).hasSize(2);
+    }
+
+    private void login(UUID cookieDeviceId) {
+        authenticationService.authenticate(
+                new LoginRequest(adminEmail, adminPassword),
+                AuthenticationRequestContext.builder()
+                        .deviceId(cookieDeviceId.toString())
+                        .userAgent("Mozilla/5.0 (X11; Linux x86_64; rv:128.0) Gecko/20100101 Firefox/128.0")
+                        .clientIp("127.0.0.1")
+                        .build()
+        );
+    }
+}
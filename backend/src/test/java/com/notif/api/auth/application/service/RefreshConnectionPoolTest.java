@@ -0,0 +1,95 @@
+package com.notif.api.auth.application.service;
+
+import com.notif.api.auth.application.dto.AuthenticationRequestContext;
+import com.notif.api.auth.application.dto.RefreshTokenDto;
+import com.notif.api.support.AuthFixtures;
+import com.notif.api.support.PostgresIntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Refreshes under a pool far smaller than the number of concurrent requests. A request that needed a second
+ * connection while holding one would starve the pool, and connection acquisition would time out.
+ */
+@Import(AuthFixtures.class)
+@TestPropertySource(properties = {
+        "spring.datasource.hikari.maximum-pool-size=2",
+        "spring.datasource.hikari.minimum-idle=2",
+        "spring.datasource.hikari.connection-timeout=5000"
+})
+class RefreshConnectionPoolTest extends PostgresIntegrationTest {
+    private static final int CLIENTS = 16;
+    private static final int REFRESHES_PER_CLIENT = 10;
+
+    @Autowired
+    private AuthenticationService authenticationService;
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @Autowired
+    private AuthFixtures fixtures;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${admin.email}")
+    private String adminEmail;
+
+    @Test
+    void refreshesCompleteWithATinyPool() throws Exception {
+        UUID userId = jdbcTemplate.queryForObject("SELECT id FROM _user WHERE email = ?", UUID.class, adminEmail);
+
+        CountDownLatch start = new CountDownLatch(1);
+        List<Callable<Integer>> clients = new ArrayList<>();
+        for (int i = 0; i < CLIENTS; i++) {
+            // One device and session per client, each rotating its own token family
+            UUID cookieDeviceId = UUID.randomUUID();
+            UUID deviceId = fixtures.insertDevice(cookieDeviceId);
+            RefreshTokenDto issued = refreshTokenService.openSession(userId, deviceId, null);
+            AuthenticationRequestContext context = AuthenticationRequestContext.builder()
+                    .deviceId(cookieDeviceId.toString())
+                    .build();
+
+            clients.add(() -> {
+                start.await();
+                String token = issued.getToken();
+                for (int refresh = 0; refresh < REFRESHES_PER_CLIENT; refresh++) {
+                    token = authenticationService.refresh(token, context).getCookies().getRefreshToken();
+                }
+                return REFRESHES_PER_CLIENT;
+            });
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(CLIENTS);
+        int completed = 0;
+        try {
+            List<Future<Integer>> results = clients.stream().map(executor::submit).toList();
+            start.countDown();
+            for (Future<Integer> result : results) {
+                // A connection timeout surfaces here as the cause of an ExecutionException
+                completed += result.get(2, TimeUnit.MINUTES);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(completed).isEqualTo(CLIENTS * REFRESHES_PER_CLIENT);
+    }
+}
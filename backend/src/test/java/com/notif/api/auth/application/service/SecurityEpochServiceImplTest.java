@@ -0,0 +1,84 @@
+package com.notif.api.auth.application.service;
+
+import com.notif.api.auth.domain.model.UserSecurityEpoch;
+import com.notif.api.auth.domain.repository.UserSecurityEpochRepository;
+import com.notif.api.core.scheduling.JobScheduler;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SecurityEpochServiceImplTest {
+    private final UserSecurityEpochRepository epochRepository = mock(UserSecurityEpochRepository.class);
+
+    private final SecurityEpochServiceImpl service = new SecurityEpochServiceImpl(
+            epochRepository,
+            mock(JobScheduler.class),
+            Duration.ofSeconds(5)
+    );
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void bumpTakesEffectOnlyOnceTheTransactionCommits() {
+        UUID userId = UUID.randomUUID();
+        when(epochRepository.findById(userId)).thenReturn(Optional.of(epoch(userId, 1)));
+        TransactionSynchronizationManager.initSynchronization();
+
+        service.bumpEpoch(userId);
+
+        assertThat(service.getCurrentEpoch(userId)).isZero();
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertThat(service.getCurrentEpoch(userId)).isEqualTo(1);
+    }
+
+    @Test
+    void rolledBackBumpLeavesTheEpochUnchanged() {
+        UUID userId = UUID.randomUUID();
+        when(epochRepository.findById(userId)).thenReturn(Optional.of(epoch(userId, 1)));
+        TransactionSynchronizationManager.initSynchronization();
+
+        service.bumpEpoch(userId);
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        assertThat(service.getCurrentEpoch(userId)).isZero();
+        assertThat(service.isCurrent(userId, 0)).isTrue();
+    }
+
+    @Test
+    void syncAppliesBumpsMadeOnOtherNodesWithoutMovingBackwards() {
+        UUID bumpedElsewhere = UUID.randomUUID();
+        UUID bumpedHere = UUID.randomUUID();
+        when(epochRepository.findById(bumpedHere)).thenReturn(Optional.of(epoch(bumpedHere, 3)));
+        service.bumpEpoch(bumpedHere);
+        when(epochRepository.findUpdatedSince(any()))
+                .thenReturn(List.of(epoch(bumpedElsewhere, 2), epoch(bumpedHere, 2)));
+
+        service.syncEpochs();
+
+        assertThat(service.getCurrentEpoch(bumpedElsewhere)).isEqualTo(2);
+        assertThat(service.isCurrent(bumpedElsewhere, 1)).isFalse();
+        assertThat(service.getCurrentEpoch(bumpedHere)).isEqualTo(3);
+    }
+
+    private static UserSecurityEpoch epoch(UUID userId, int epoch) {
+        return new UserSecurityEpoch(userId, epoch, Instant.now());
+    }
+}
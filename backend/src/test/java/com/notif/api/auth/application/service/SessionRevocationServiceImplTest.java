@@ -0,0 +1,45 @@
+package com.notif.api.auth.application.service;
+
+import com.notif.api.auth.domain.model.SessionRevokedReason;
+import com.notif.api.auth.domain.repository.RefreshTokenRepository;
+import com.notif.api.auth.domain.repository.SessionRepository;
+import com.notif.api.auth.infrastructure.expiry.SessionExpiryManager;
+import com.notif.api.auth.infrastructure.security.RevokedSessionRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class SessionRevocationServiceImplTest {
+    private final SessionRepository sessionRepository = mock(SessionRepository.class);
+    private final RefreshTokenRepository refreshTokenRepository = mock(RefreshTokenRepository.class);
+    private final SecurityEpochService securityEpochService = mock(SecurityEpochService.class);
+    private final SessionExpiryManager sessionExpiryManager = mock(SessionExpiryManager.class);
+
+    private final SessionRevocationServiceImpl service = new SessionRevocationServiceImpl(
+            sessionRepository,
+            refreshTokenRepository,
+            securityEpochService,
+            mock(RevokedSessionRegistry.class),
+            sessionExpiryManager
+    );
+
+    @Test
+    void revokeAllUserSessionsStopsTrackingTheRevokedSessions() {
+        UUID userId = UUID.randomUUID();
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        when(sessionRepository.findActiveIdsByUserId(userId)).thenReturn(List.of(first, second));
+
+        service.revokeAllUserSessions(userId, SessionRevokedReason.PASSWORD_CHANGE);
+
+        verify(sessionRepository).revokeAllActiveSessionsByUserId(userId, SessionRevokedReason.PASSWORD_CHANGE);
+        verify(securityEpochService).bumpEpoch(userId);
+        verify(sessionExpiryManager).unregister(first);
+        verify(sessionExpiryManager).unregister(second);
+    }
+}
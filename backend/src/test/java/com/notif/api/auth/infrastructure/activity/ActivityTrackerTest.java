@@ -0,0 +1,98 @@
+package com.notif.api.auth.infrastructure.activity;
+
+import com.notif.api.auth.domain.model.Session;
+import com.notif.api.auth.domain.model.SessionRevokedReason;
+import com.notif.api.auth.domain.model.SessionStatus;
+import com.notif.api.support.AuthFixtures;
+import com.notif.api.support.PostgresIntegrationTest;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Versioned JPA updates of a Session racing an ActivityTracker flush of the same row.
+ */
+@Import(AuthFixtures.class)
+class ActivityTrackerTest extends PostgresIntegrationTest {
+    @Autowired
+    private ActivityTracker activityTracker;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private AuthFixtures fixtures;
+
+    @Test
+    void flushBetweenLoadAndCommitNeitherFailsNorIsOverwritten() {
+        UUID sessionId = fixtures.insertSession(UUID.randomUUID(), Instant.now().plus(Duration.ofDays(30)));
+        Instant activeAt = Instant.now().plus(Duration.ofMinutes(1)).truncatedTo(ChronoUnit.MICROS);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            Session session = entityManager.find(Session.class, sessionId);
+
+            // Another connection writes the timestamp while this transaction holds the loaded entity
+            activityTracker.recordSessionActivity(sessionId, activeAt);
+            CompletableFuture.runAsync(activityTracker::flush).join();
+
+            revoke(session);
+        });
+
+        assertRevokedWithActivity(sessionId, activeAt);
+    }
+
+    @Test
+    void flushBlockedByAnUncommittedUpdateAppliesAfterIt() {
+        UUID sessionId = fixtures.insertSession(UUID.randomUUID(), Instant.now().plus(Duration.ofDays(30)));
+        Instant activeAt = Instant.now().plus(Duration.ofMinutes(1)).truncatedTo(ChronoUnit.MICROS);
+
+        CompletableFuture<Void> flush = transactionTemplate.execute(status -> {
+            Session session = entityManager.find(Session.class, sessionId);
+            revoke(session);
+            entityManager.flush();
+
+            // Waits on the row lock until this transaction commits
+            activityTracker.recordSessionActivity(sessionId, activeAt);
+            return CompletableFuture.runAsync(activityTracker::flush);
+        });
+        flush.join();
+
+        assertRevokedWithActivity(sessionId, activeAt);
+    }
+
+    private static void revoke(Session session) {
+        session.setStatus(SessionStatus.REVOKED);
+        session.setRevokedAt(Instant.now());
+        session.setRevokedReason(SessionRevokedReason.LOGOUT);
+    }
+
+    private void assertRevokedWithActivity(UUID sessionId, Instant activeAt) {
+        String status = jdbcTemplate.queryForObject("SELECT status FROM session WHERE id = ?", String.class, sessionId);
+        OffsetDateTime lastActivityAt = jdbcTemplate.queryForObject(
+                "SELECT last_activity_at FROM session WHERE id = ?",
+                OffsetDateTime.class,
+                sessionId
+        );
+
+        assertThat(status).isEqualTo(SessionStatus.REVOKED.name());
+        assertThat(lastActivityAt.toInstant()).isEqualTo(activeAt);
+    }
+}
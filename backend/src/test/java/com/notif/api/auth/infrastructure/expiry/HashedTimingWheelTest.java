@@ -0,0 +1,97 @@
+package com.notif.api.auth.infrastructure.expiry;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HashedTimingWheelTest {
+    private static final long TICK = 1000;
+    private static final int WHEEL_SIZE = 8;
+
+    private final HashedTimingWheel<String> wheel = new HashedTimingWheel<>(TICK, WHEEL_SIZE, 0);
+
+    @Test
+    void expiresKeysOnceTheirDeadlineTickIsReached() {
+        wheel.schedule("a", 5500);
+
+        assertThat(wheel.advance(4999)).isEmpty();
+        assertThat(wheel.advance(5000)).containsExactly("a");
+        assertThat(wheel.size()).isZero();
+        assertThat(wheel.advance(6000)).isEmpty();
+    }
+
+    @Test
+    void postponeMovesDeadlinesLaterOnly() {
+        wheel.schedule("a", 2000);
+        wheel.schedule("b", 6000);
+        wheel.postpone("a", 6000);
+        wheel.postpone("b", 1000);
+        wheel.postpone("unknown", 3000);
+
+        assertThat(wheel.advance(5999)).isEmpty();
+        assertThat(wheel.advance(6000)).containsExactlyInAnyOrder("a", "b");
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void rescheduleToAnEarlierDeadlineExpiresOnce() {
+        wheel.schedule("a", 6000);
+        wheel.schedule("a", 2000);
+
+        assertThat(wheel.advance(2000)).containsExactly("a");
+        assertThat(wheel.advance(7000)).isEmpty();
+    }
+
+    @Test
+    void cancelledKeysNeverExpire() {
+        wheel.schedule("a", 2000);
+        wheel.cancel("a");
+
+        assertThat(wheel.size()).isZero();
+        assertThat(wheel.advance(10_000)).isEmpty();
+    }
+
+    @Test
+    void deadlinesSeveralRevolutionsAheadWaitForTheirTick() {
+        // 2.5 revolutions ahead: the key's bucket is visited twice before it is due
+        wheel.schedule("a", 20_500);
+
+        for (long now = TICK; now < 20_000; now += TICK) {
+            assertThat(wheel.advance(now)).isEmpty();
+        }
+        assertThat(wheel.advance(20_000)).containsExactly("a");
+    }
+
+    @Test
+    void lateAdvanceCatchesUpOnEverySkippedTick() {
+        wheel.schedule("a", 2000);
+        wheel.schedule("b", 4000);
+        wheel.schedule("c", 6000);
+
+        // Several ticks at once, within one revolution
+        assertThat(wheel.advance(4500)).containsExactlyInAnyOrder("a", "b");
+        assertThat(wheel.advance(6000)).containsExactly("c");
+    }
+
+    @Test
+    void lateAdvancePastAFullRevolutionExpiresDueKeysAndKeepsTheRest() {
+        wheel.schedule("a", 3000);
+        wheel.schedule("b", 5000);
+        wheel.schedule("c", 30_000);
+
+        assertThat(wheel.advance(12_000)).containsExactlyInAnyOrder("a", "b");
+        assertThat(wheel.size()).isEqualTo(1);
+        assertThat(wheel.advance(29_999)).isEmpty();
+        assertThat(wheel.advance(30_000)).containsExactly("c");
+    }
+
+    @Test
+    void deadlinesAlreadyPastExpireOnTheNextTick() {
+        wheel.advance(10_000);
+        wheel.schedule("a", 3000);
+
+        // Tick 10 has already been visited
+        assertThat(wheel.advance(10_500)).isEmpty();
+        assertThat(wheel.advance(11_000)).containsExactly("a");
+    }
+}
@@ -0,0 +1,118 @@
+package com.notif.api.auth.infrastructure.retention;
+
+import com.notif.api.auth.infrastructure.retention.RefreshTokenPartitionManager.RetentionReport;
+import com.notif.api.core.scheduling.JobLeaseLostException;
+import com.notif.api.support.AuthFixtures;
+import com.notif.api.support.PostgresIntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@Import(AuthFixtures.class)
+class RefreshTokenPartitionManagerTest extends PostgresIntegrationTest {
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private RefreshTokenPartitionManager partitionManager;
+
+    @Autowired
+    private AuthFixtures fixtures;
+
+    @Test
+    void schemaConvertsRefreshTokenToPartitionedTable() {
+        Integer partitioned = jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM pg_partitioned_table WHERE partrelid = 'refresh_token'::regclass",
+                Integer.class
+        );
+        List<String> primaryKey = jdbcTemplate.queryForList("""
+            SELECT a.attname
+            FROM pg_index i
+            JOIN pg_attribute a ON a.attrelid = i.indrelid AND a.attnum = ANY (i.indkey)
+            WHERE i.indrelid = 'refresh_token'::regclass
+              AND i.indisprimary
+            ORDER BY a.attname
+        """, String.class);
+
+        assertThat(partitioned).isEqualTo(1);
+        assertThat(primaryKey).containsExactly("expires_at", "id");
+        assertThat(partitions()).contains("refresh_token_default");
+    }
+
+    @Test
+    void startupCreatesUpcomingDailyPartitions() {
+        assertThat(partitions()).anyMatch(name -> name.matches("refresh_token_p\\d{8}"));
+    }
+
+    @Test
+    void maintainMovesRowsOutOfDefaultPartitionBeforeCreatingIt() {
+        LocalDate day = LocalDate.now(ZoneOffset.UTC).plusDays(3);
+        String partition = "refresh_token_p" + day.toString().replace("-", "");
+        jdbcTemplate.execute("ALTER TABLE refresh_token DETACH PARTITION " + partition);
+        jdbcTemplate.execute("DROP TABLE " + partition);
+
+        UUID userId = UUID.randomUUID();
+        UUID sessionId = fixtures.insertSession(userId, Instant.now().plus(Duration.ofDays(30)));
+        Instant expiresAt = day.atStartOfDay(ZoneOffset.UTC).toInstant().plus(Duration.ofHours(12));
+        UUID tokenId = fixtures.insertRefreshToken(sessionId, userId, expiresAt);
+        assertThat(countIn("refresh_token_default", tokenId)).isEqualTo(1);
+
+        RetentionReport report = partitionManager.maintain();
+
+        assertThat(report.partitionsFailed()).isZero();
+        assertThat(report.partitionsCreated()).isEqualTo(1);
+        assertThat(partitions()).contains(partition);
+        assertThat(countIn(partition, tokenId)).isEqualTo(1);
+        assertThat(countIn("refresh_token_default", tokenId)).isZero();
+    }
+
+    @Test
+    void maintainPurgesExpiredRowsFromDefaultPartition() {
+        UUID userId = UUID.randomUUID();
+        UUID sessionId = fixtures.insertSession(userId, Instant.now().plus(Duration.ofDays(30)));
+        // No daily partition covers this day, so the token lands in the default partition
+        UUID tokenId = fixtures.insertRefreshToken(sessionId, userId, Instant.now().minus(Duration.ofDays(60)));
+        assertThat(countIn("refresh_token_default", tokenId)).isEqualTo(1);
+
+        RetentionReport report = partitionManager.maintain();
+
+        assertThat(report.defaultPartitionRowsDeleted()).isPositive();
+        assertThat(countIn("refresh_token", tokenId)).isZero();
+    }
+
+    @Test
+    void maintainStopsOnceTheLeaseIsLost() {
+        AtomicInteger heartbeats = new AtomicInteger();
+
+        assertThatThrownBy(() -> partitionManager.maintain(() -> {
+            heartbeats.incrementAndGet();
+            throw new JobLeaseLostException("Lease lost for job refresh-token-retention");
+        })).isInstanceOf(JobLeaseLostException.class);
+        assertThat(heartbeats).hasValue(1);
+    }
+
+    private int countIn(String table, UUID tokenId) {
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM " + table + " WHERE id = ?", Integer.class, tokenId);
+    }
+
+    private List<String> partitions() {
+        return jdbcTemplate.queryForList("""
+            SELECT c.relname
+            FROM pg_inherits i
+            JOIN pg_class c ON c.oid = i.inhrelid
+            WHERE i.inhparent = 'refresh_token'::regclass
+        """, String.class);
+    }
+}
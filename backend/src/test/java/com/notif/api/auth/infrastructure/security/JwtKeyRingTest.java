@@ -0,0 +1,63 @@
+package com.notif.api.auth.infrastructure.security;
+
+import io.jsonwebtoken.security.SignatureException;
+import org.junit.jupiter.api.Test;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.spec.ECGenParameterSpec;
+import java.util.Base64;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JwtKeyRingTest {
+    private static final String SECRET = Base64.getEncoder()
+            .encodeToString("test-secret-test-secret-test-secret-1234".getBytes());
+
+    @Test
+    void acceptsTokensWithoutKeyIdForOneAccessTokenLifetimeInHs256Mode() {
+        JwtKeyRing keyRing = hs256(900);
+
+        assertThat(keyRing.resolve(null)).isNotNull();
+    }
+
+    @Test
+    void rejectsTokensWithoutKeyIdOnceTheAccessTokenLifetimeHasPassed() {
+        JwtKeyRing keyRing = hs256(0);
+
+        assertThatThrownBy(() -> keyRing.resolve(null)).isInstanceOf(SignatureException.class);
+    }
+
+    @Test
+    void rejectsTokensWithoutKeyIdInEs256Mode() throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+        generator.initialize(new ECGenParameterSpec("secp256r1"));
+        KeyPair keyPair = generator.generateKeyPair();
+        Base64.Encoder encoder = Base64.getEncoder();
+
+        JwtKeyRing keyRing = new JwtKeyRing(
+                SECRET, "", "ES256", 86400, 900,
+                encoder.encodeToString(keyPair.getPrivate().getEncoded()),
+                encoder.encodeToString(keyPair.getPublic().getEncoded()),
+                List.of()
+        );
+
+        assertThatThrownBy(() -> keyRing.resolve(null)).isInstanceOf(SignatureException.class);
+        assertThat(keyRing.resolve(keyRing.currentSigningKey().keyId())).isEqualTo(keyPair.getPublic());
+    }
+
+    @Test
+    void resolvesTheCurrentDerivedKeyById() {
+        JwtKeyRing keyRing = hs256(900);
+        JwtKeyRing.SigningKey signingKey = keyRing.currentSigningKey();
+
+        assertThat(keyRing.resolve(signingKey.keyId())).isEqualTo(signingKey.key());
+        assertThatThrownBy(() -> keyRing.resolve("unknown-1")).isInstanceOf(SignatureException.class);
+    }
+
+    private static JwtKeyRing hs256(long accessTokenExpiration) {
+        return new JwtKeyRing(SECRET, "", "HS256", 86400, accessTokenExpiration, "", "", List.of());
+    }
+}
@@ -0,0 +1,190 @@
+package com.notif.api.auth.infrastructure.security;
+
+import com.notif.api.auth.domain.repository.SessionRepository;
+import com.notif.api.core.scheduling.JobScheduler;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class RevokedSessionRegistryTest {
+    private static final long ACCESS_TOKEN_EXPIRATION = 900;
+
+    private final SessionRepository sessionRepository = mock(SessionRepository.class);
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void containsAddedSessionsOnly() {
+        RevokedSessionRegistry registry = newRegistry(ACCESS_TOKEN_EXPIRATION, 64);
+        UUID revoked = UUID.randomUUID();
+
+        registry.add(revoked);
+        registry.add(revoked);
+
+        assertThat(registry.isRevoked(revoked)).isTrue();
+        assertThat(registry.isRevoked(UUID.randomUUID())).isFalse();
+    }
+
+    @Test
+    void handlesIdsWhoseLeastSignificantBitsAreZero() {
+        RevokedSessionRegistry registry = newRegistry(ACCESS_TOKEN_EXPIRATION, 64);
+        // An lsb of 0 marks an empty slot, so these can only live in the overflow set
+        UUID zeroLsb = new UUID(42, 0);
+
+        registry.add(zeroLsb);
+
+        assertThat(registry.isRevoked(zeroLsb)).isTrue();
+        assertThat(registry.isRevoked(new UUID(43, 0))).isFalse();
+    }
+
+    @Test
+    void spillsIntoOverflowPastTheLoadFactor() {
+        // 16 slots, so only 8 fit in the table before entries overflow
+        RevokedSessionRegistry registry = newRegistry(ACCESS_TOKEN_EXPIRATION, 16);
+        List<UUID> revoked = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            UUID id = UUID.randomUUID();
+            revoked.add(id);
+            registry.add(id);
+        }
+
+        assertThat(revoked).allMatch(registry::isRevoked);
+        for (int i = 0; i < 100; i++) {
+            assertThat(registry.isRevoked(UUID.randomUUID())).isFalse();
+        }
+    }
+
+    @Test
+    void keepsEntriesForAtLeastOneAndAtMostTwoGenerations() throws InterruptedException {
+        // One-second access tokens, so generations rotate every second
+        RevokedSessionRegistry registry = newRegistry(1, 64);
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+
+        registry.add(first);
+        Thread.sleep(1200);
+        // Rotates: first moves to the previous generation, second goes into the new current one
+        registry.add(second);
+
+        assertThat(registry.isRevoked(first)).isTrue();
+        assertThat(registry.isRevoked(second)).isTrue();
+
+        Thread.sleep(1000);
+        // Rotates again: the generation holding first is dropped
+        assertThat(registry.isRevoked(second)).isTrue();
+        assertThat(registry.isRevoked(first)).isFalse();
+    }
+
+    @Test
+    void readersNeverSeeFalseResultsWhileEntriesAreAdded() throws Exception {
+        RevokedSessionRegistry registry = newRegistry(ACCESS_TOKEN_EXPIRATION, 1 << 14);
+        List<UUID> existing = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            UUID id = UUID.randomUUID();
+            existing.add(id);
+            registry.add(id);
+        }
+        List<UUID> added = new ArrayList<>();
+        // Enough to run past the load factor into the overflow set as well
+        for (int i = 0; i < 12_000; i++) {
+            added.add(UUID.randomUUID());
+        }
+
+        int readers = 4;
+        ExecutorService executor = Executors.newFixedThreadPool(readers);
+        AtomicBoolean writing = new AtomicBoolean(true);
+        CountDownLatch started = new CountDownLatch(readers);
+        List<Future<Boolean>> results = new ArrayList<>();
+        try {
+            for (int r = 0; r < readers; r++) {
+                results.add(executor.submit(() -> {
+                    started.countDown();
+                    boolean consistent = true;
+                    int i = 0;
+                    while (writing.get()) {
+                        consistent &= registry.isRevoked(existing.get(i % existing.size()));
+                        consistent &= !registry.isRevoked(new UUID(i, i | 1));
+                        i++;
+                    }
+                    return consistent;
+                }));
+            }
+
+            started.await();
+            added.forEach(registry::add);
+            writing.set(false);
+
+            for (Future<Boolean> result : results) {
+                assertThat(result.get(10, TimeUnit.SECONDS)).isTrue();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(added).allMatch(registry::isRevoked);
+    }
+
+    @Test
+    void revocationsTakeEffectOnlyOnceTheTransactionCommits() {
+        RevokedSessionRegistry registry = newRegistry(ACCESS_TOKEN_EXPIRATION, 64);
+        UUID committed = UUID.randomUUID();
+        UUID rolledBack = UUID.randomUUID();
+
+        TransactionSynchronizationManager.initSynchronization();
+        registry.addAfterCommit(committed);
+        assertThat(registry.isRevoked(committed)).isFalse();
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        TransactionSynchronizationManager.clearSynchronization();
+
+        TransactionSynchronizationManager.initSynchronization();
+        registry.addAfterCommit(rolledBack);
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        assertThat(registry.isRevoked(committed)).isTrue();
+        assertThat(registry.isRevoked(rolledBack)).isFalse();
+    }
+
+    @Test
+    void syncPicksUpSessionsRevokedOnOtherNodes() {
+        RevokedSessionRegistry registry = newRegistry(ACCESS_TOKEN_EXPIRATION, 64);
+        UUID revokedElsewhere = UUID.randomUUID();
+        when(sessionRepository.findIdsRevokedSince(any())).thenReturn(List.of(revokedElsewhere));
+
+        registry.syncRevocations();
+
+        assertThat(registry.isRevoked(revokedElsewhere)).isTrue();
+    }
+
+    private RevokedSessionRegistry newRegistry(long accessTokenExpiration, int capacity) {
+        return new RevokedSessionRegistry(
+                sessionRepository,
+                mock(JobScheduler.class),
+                accessTokenExpiration,
+                capacity,
+                Duration.ofSeconds(5)
+        );
+    }
+}
@@ -0,0 +1,60 @@
+package com.notif.api.auth.infrastructure.useragent;
+
+import com.notif.api.support.AuthFixtures;
+import com.notif.api.support.PostgresIntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Import(AuthFixtures.class)
+class UnknownDeviceBackfillTest extends PostgresIntegrationTest {
+    private static final String USER_AGENT = "Mozilla/5.0 (Macintosh; Intel Mac OS X 10_15_7) "
+            + "AppleWebKit/537.36 (KHTML, like Gecko) Chrome/126.0 Safari/537.36";
+
+    @Autowired
+    private UnknownDeviceBackfill backfill;
+
+    @Autowired
+    private UserAgentClassifier userAgentClassifier;
+
+    @Autowired
+    private AuthFixtures fixtures;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void reclassifiesProfilesOnBothSidesOfTheSignedUuidRange() throws InterruptedException {
+        // Java compares UUIDs as signed longs and Postgres as unsigned bytes; the scan must start below both
+        UUID low = new UUID(0x0000_0000_0000_0001L, 1);
+        UUID high = new UUID(0x8000_0000_0000_0001L, 1);
+        fixtures.insertProfile(low, USER_AGENT + " low", false);
+        fixtures.insertProfile(high, USER_AGENT + " high", false);
+        awaitAnalyzer();
+
+        backfill.backfill(() -> {});
+
+        assertThat(isAnalyzed(low)).isTrue();
+        assertThat(isAnalyzed(high)).isTrue();
+    }
+
+    private void awaitAnalyzer() throws InterruptedException {
+        Instant deadline = Instant.now().plus(Duration.ofMinutes(2));
+        while (!userAgentClassifier.isAnalyzerReady()) {
+            assertThat(Instant.now()).as("user agent analyzer built").isBefore(deadline);
+            Thread.sleep(200);
+        }
+    }
+
+    private boolean isAnalyzed(UUID profileId) {
+        String sql = "SELECT analyzed FROM device_profile WHERE id = ?";
+        return jdbcTemplate.queryForObject(sql, Boolean.class, profileId);
+    }
+}
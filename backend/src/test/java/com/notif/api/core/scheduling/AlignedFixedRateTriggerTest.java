@@ -0,0 +1,59 @@
+package com.notif.api.core.scheduling;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.support.SimpleTriggerContext;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AlignedFixedRateTriggerTest {
+    private final AlignedFixedRateTrigger trigger = new AlignedFixedRateTrigger(Duration.ofMinutes(5));
+
+    @Test
+    void firstTickIsTheNextBoundaryAfterNow() {
+        SimpleTriggerContext context = contextAt("2026-01-01T10:07:42Z");
+
+        assertThat(trigger.nextExecution(context)).isEqualTo("2026-01-01T10:10:00Z");
+    }
+
+    @Test
+    void startingExactlyOnABoundaryWaitsForTheNextOne() {
+        SimpleTriggerContext context = contextAt("2026-01-01T10:10:00Z");
+
+        assertThat(trigger.nextExecution(context)).isEqualTo("2026-01-01T10:15:00Z");
+    }
+
+    @Test
+    void nodesStartedAtDifferentTimesAgreeOnTicks() {
+        Instant first = trigger.nextExecution(contextAt("2026-01-01T10:05:01Z"));
+        Instant second = trigger.nextExecution(contextAt("2026-01-01T10:09:59.999Z"));
+
+        assertThat(first).isEqualTo(second).isEqualTo("2026-01-01T10:10:00Z");
+    }
+
+    @Test
+    void followsTheLastTick() {
+        SimpleTriggerContext context = contextAt("2026-01-01T10:10:03Z");
+        Instant last = Instant.parse("2026-01-01T10:10:00Z");
+        context.update(last, last, Instant.parse("2026-01-01T10:10:02Z"));
+
+        assertThat(trigger.nextExecution(context)).isEqualTo("2026-01-01T10:15:00Z");
+    }
+
+    @Test
+    void skipsTicksMissedWhileARunOverran() {
+        SimpleTriggerContext context = contextAt("2026-01-01T10:27:30Z");
+        Instant last = Instant.parse("2026-01-01T10:10:00Z");
+        context.update(last, last, Instant.parse("2026-01-01T10:27:29Z"));
+
+        assertThat(trigger.nextExecution(context)).isEqualTo("2026-01-01T10:30:00Z");
+    }
+
+    private static SimpleTriggerContext contextAt(String now) {
+        return new SimpleTriggerContext(Clock.fixed(Instant.parse(now), ZoneOffset.UTC));
+    }
+}
@@ -0,0 +1,82 @@
+package com.notif.api.core.scheduling;
+
+import com.notif.api.core.scheduling.JobLeaseRepository.Lease;
+import com.notif.api.support.PostgresIntegrationTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JobLeaseRepositoryTest extends PostgresIntegrationTest {
+    private static final Duration LEASE = Duration.ofMinutes(1);
+    private static final Instant TICK = Instant.parse("2026-01-01T10:00:00Z");
+    private static final Instant NEXT_TICK = TICK.plus(Duration.ofMinutes(5));
+
+    @Autowired
+    private JobLeaseRepository leaseRepository;
+
+    private String job;
+
+    @BeforeEach
+    void registerJob() {
+        job = "test-job-" + UUID.randomUUID();
+        leaseRepository.register(job);
+    }
+
+    @Test
+    void onlyOneNodeTakesATick() {
+        Optional<Lease> first = leaseRepository.tryAcquire(job, "node-a", TICK, LEASE);
+        Optional<Lease> second = leaseRepository.tryAcquire(job, "node-b", TICK, LEASE);
+
+        assertThat(first).isPresent();
+        assertThat(second).isEmpty();
+    }
+
+    @Test
+    void aReleasedTickIsNotRunAgain() {
+        Lease lease = leaseRepository.tryAcquire(job, "node-a", TICK, LEASE).orElseThrow();
+
+        assertThat(leaseRepository.release(lease)).isTrue();
+        assertThat(leaseRepository.tryAcquire(job, "node-b", TICK, LEASE)).isEmpty();
+        assertThat(leaseRepository.tryAcquire(job, "node-b", NEXT_TICK, LEASE)).isPresent();
+    }
+
+    @Test
+    void aHeldLeaseBlocksTheNextTick() {
+        leaseRepository.tryAcquire(job, "node-a", TICK, LEASE).orElseThrow();
+
+        assertThat(leaseRepository.tryAcquire(job, "node-b", NEXT_TICK, LEASE)).isEmpty();
+    }
+
+    @Test
+    void renewKeepsTheLease() throws InterruptedException {
+        Lease lease = leaseRepository.tryAcquire(job, "node-a", TICK, Duration.ofMillis(500)).orElseThrow();
+        Thread.sleep(300);
+
+        // Renewed for longer than the sleep below, which outlasts the original lease
+        Lease renewed = new Lease(lease.jobName(), lease.owner(), lease.token(), LEASE);
+        assertThat(leaseRepository.renew(renewed)).isTrue();
+        Thread.sleep(300);
+        assertThat(leaseRepository.tryAcquire(job, "node-b", NEXT_TICK, LEASE)).isEmpty();
+    }
+
+    @Test
+    void anExpiredLeaseIsTakenOverAtTheNextTickAndFencesTheOldHolder() throws InterruptedException {
+        Lease stale = leaseRepository.tryAcquire(job, "node-a", TICK, Duration.ofMillis(1)).orElseThrow();
+        Thread.sleep(50);
+
+        Lease current = leaseRepository.tryAcquire(job, "node-b", NEXT_TICK, LEASE).orElseThrow();
+
+        assertThat(current.token()).isGreaterThan(stale.token());
+        assertThat(leaseRepository.renew(stale)).isFalse();
+        assertThat(leaseRepository.release(stale)).isFalse();
+        assertThat(leaseRepository.renew(current)).isTrue();
+        assertThat(leaseRepository.release(current)).isTrue();
+    }
+}
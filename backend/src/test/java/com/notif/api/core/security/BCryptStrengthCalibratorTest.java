@@ -0,0 +1,62 @@
+package com.notif.api.core.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BCryptStrengthCalibratorTest {
+    private final List<Integer> timedStrengths = new ArrayList<>();
+
+    // One hash costs 2^strength microseconds: 1 ms at strength 10, doubling with every step
+    private final IntFunction<Duration> doublingCost = strength -> {
+        timedStrengths.add(strength);
+        return Duration.ofNanos(1000L << strength);
+    };
+
+    @Test
+    void keepsTheHighestStrengthWithinTheBudget() {
+        int strength = BCryptStrengthCalibrator.calibrate(Duration.ofMillis(10), doublingCost);
+
+        // 13 takes 8.2 ms, 14 takes 16.4 ms
+        assertThat(strength).isEqualTo(13);
+    }
+
+    @Test
+    void stopsTimingAtTheFirstStrengthOverBudget() {
+        BCryptStrengthCalibrator.calibrate(Duration.ofMillis(10), doublingCost);
+
+        assertThat(timedStrengths).containsExactly(11, 12, 13, 14);
+    }
+
+    @Test
+    void acceptsAHashExactlyAtTheBudget() {
+        int strength = BCryptStrengthCalibrator.calibrate(Duration.ofNanos(1000L << 12), doublingCost);
+
+        assertThat(strength).isEqualTo(12);
+    }
+
+    @Test
+    void clampsToTheMinimumOnSlowHardware() {
+        int strength = BCryptStrengthCalibrator.calibrate(Duration.ofMillis(1), doublingCost);
+
+        assertThat(strength).isEqualTo(BCryptStrengthCalibrator.MIN_STRENGTH);
+        assertThat(timedStrengths).containsExactly(BCryptStrengthCalibrator.MIN_STRENGTH + 1);
+    }
+
+    @Test
+    void clampsToTheMaximumOnFastHardware() {
+        int strength = BCryptStrengthCalibrator.calibrate(Duration.ofMillis(1), s -> Duration.ZERO);
+
+        assertThat(strength).isEqualTo(BCryptStrengthCalibrator.MAX_STRENGTH);
+    }
+
+    @Test
+    void realCalibrationNeverGoesBelowTheMinimum() {
+        assertThat(BCryptStrengthCalibrator.calibrate(Duration.ZERO)).isEqualTo(BCryptStrengthCalibrator.MIN_STRENGTH);
+    }
+}
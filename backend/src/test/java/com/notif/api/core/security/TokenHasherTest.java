@@ -0,0 +1,92 @@
+package com.notif.api.core.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenHasherTest {
+    // FIPS 180-2 test vector for "abc"
+    private static final String ABC_SHA_256 = "ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad";
+
+    @Test
+    void sha256MatchesTheStandardTestVector() {
+        byte[] hash = TokenHasher.sha256("abc");
+
+        assertThat(hash).hasSize(TokenHasher.HASH_BYTES);
+        assertThat(HexFormat.of().formatHex(hash)).isEqualTo(ABC_SHA_256);
+    }
+
+    @Test
+    void sha256IsStableAcrossCallsOnTheSameThread() {
+        byte[] first = TokenHasher.sha256("token");
+        TokenHasher.sha256("something else entirely");
+        byte[] second = TokenHasher.sha256("token");
+
+        assertThat(second).isEqualTo(first).isNotSameAs(first);
+        assertThat(HexFormat.of().formatHex(TokenHasher.sha256("abc"))).isEqualTo(ABC_SHA_256);
+    }
+
+    @Test
+    void sha256HashesTheUtf8Bytes() throws Exception {
+        String value = "tökén-✓";
+
+        assertThat(TokenHasher.sha256(value)).isEqualTo(reference(value));
+    }
+
+    @Test
+    void sha256IsSafeToUseFromManyThreads() throws Exception {
+        List<String> values = IntStream.range(0, 2000).mapToObj(i -> "token-" + i).toList();
+        List<Callable<Boolean>> tasks = values.stream()
+                .<Callable<Boolean>>map(value -> () -> Arrays.equals(TokenHasher.sha256(value), reference(value)))
+                .toList();
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            for (Future<Boolean> result : executor.invokeAll(tasks)) {
+                assertThat(result.get()).isTrue();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void matchesAcceptsEqualHashes() {
+        assertThat(TokenHasher.matches(TokenHasher.sha256("token"), TokenHasher.sha256("token"))).isTrue();
+    }
+
+    @Test
+    void matchesRejectsADifferenceAtAnyPosition() {
+        byte[] expected = TokenHasher.sha256("token");
+
+        for (int i = 0; i < expected.length; i++) {
+            byte[] actual = expected.clone();
+            actual[i] ^= 1;
+            assertThat(TokenHasher.matches(expected, actual)).as("difference at byte %d", i).isFalse();
+        }
+    }
+
+    @Test
+    void matchesRejectsHashesOfOtherLengths() {
+        byte[] expected = TokenHasher.sha256("token");
+
+        assertThat(TokenHasher.matches(expected, new byte[0])).isFalse();
+        assertThat(TokenHasher.matches(expected, Arrays.copyOf(expected, expected.length - 1))).isFalse();
+        assertThat(TokenHasher.matches(expected, Arrays.copyOf(expected, expected.length + 1))).isFalse();
+    }
+
+    private static byte[] reference(String value) throws Exception {
+        return MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,93 @@
+package com.notif.api.support;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+/**
+ * Inserts auth rows directly with SQL, for tests that need a session or refresh token in a given state.
+ */
+public class AuthFixtures {
+    private final JdbcTemplate jdbcTemplate;
+
+    public AuthFixtures(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Inserts an active session (with its device and device profile) expiring at the given time.
+     */
+    public UUID insertSession(UUID userId, Instant expiresAt) {
+        OffsetDateTime now = utc(Instant.now());
+        UUID deviceId = insertDevice(UUID.randomUUID());
+        UUID sessionId = UUID.randomUUID();
+
+        jdbcTemplate.update("""
+            INSERT INTO session (
+                id, user_id, device_id, status, last_activity_at, expires_at, created_at, updated_at, version
+            )
+            VALUES (?, ?, ?, 'ACTIVE', ?, ?, ?, ?, 0)
+        """, sessionId, userId, deviceId, now, utc(expiresAt), now, now);
+
+        return sessionId;
+    }
+
+    /**
+     * Inserts a device (with its device profile) identified by the given cookie value. Returns its internal ID.
+     */
+    public UUID insertDevice(UUID cookieDeviceId) {
+        UUID profileId = UUID.randomUUID();
+        insertProfile(profileId, "test-agent-" + profileId, true);
+
+        return insertDevice(cookieDeviceId, profileId);
+    }
+
+    /**
+     * Inserts a device with an existing device profile. Returns its internal ID.
+     */
+    public UUID insertDevice(UUID cookieDeviceId, UUID profileId) {
+        OffsetDateTime now = utc(Instant.now());
+        UUID deviceId = UUID.randomUUID();
+
+        jdbcTemplate.update("""
+            INSERT INTO device (id, device_id, profile_id, last_seen_at, created_at, updated_at, version)
+            VALUES (?, ?, ?, ?, ?, ?, 0)
+        """, deviceId, cookieDeviceId, profileId, now, now, now);
+
+        return deviceId;
+    }
+
+    /**
+     * Inserts a device profile; an unanalyzed one holds the fallback classification.
+     */
+    public void insertProfile(UUID profileId, String userAgent, boolean analyzed) {
+        OffsetDateTime now = utc(Instant.now());
+
+        jdbcTemplate.update("""
+            INSERT INTO device_profile (id, user_agent, type, name, analyzed, created_at, updated_at, version)
+            VALUES (?, ?, 'Desktop', 'Chrome on Linux', ?, ?, ?, 0)
+        """, profileId, userAgent, analyzed, now, now);
+    }
+
+    /**
+     * Inserts a live refresh token for the session expiring at the given time.
+     */
+    public UUID insertRefreshToken(UUID sessionId, UUID userId, Instant expiresAt) {
+        OffsetDateTime now = utc(Instant.now());
+        UUID tokenId = UUID.randomUUID();
+
+        jdbcTemplate.update("""
+            INSERT INTO refresh_token (id, token_hash, session_id, user_id, expires_at, created_at, updated_at, version)
+            VALUES (?, ?, ?, ?, ?, ?, ?, 0)
+        """, tokenId, new byte[32], sessionId, userId, utc(expiresAt), now, now);
+
+        return tokenId;
+    }
+
+    private static OffsetDateTime utc(Instant instant) {
+        return OffsetDateTime.ofInstant(instant, ZoneOffset.UTC);
+    }
+}
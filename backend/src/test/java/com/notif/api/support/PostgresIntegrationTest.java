@@ -0,0 +1,43 @@
+package com.notif.api.support;
+
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * Base class for tests that boot the application against a real Postgres (Hibernate schema plus schema.sql).
+ *
+ * The container is shared by all subclasses and started on first use, so the cached application context
+ * stays valid across test classes. Skipped where Docker is not available.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.driver-class-name=org.postgresql.Driver",
+        "spring.security.user.name=test-admin",
+        "spring.security.user.password=test-admin",
+        "jwt.secret=dGVzdC1zZWNyZXQtdGVzdC1zZWNyZXQtdGVzdC1zZWNyZXQtMTIzNA==",
+        "jwt.access-token.expiration=900",
+        "jwt.refresh-token.expiration=604800",
+        "admin.email=admin@notif.test",
+        "admin.password=Admin-password-1",
+        "manager.email=manager@notif.test",
+        "manager.password=Manager-password-1",
+        "spring.mail.username=test@notif.test",
+        "spring.mail.password=test",
+        "password.hashing.bcrypt-strength=4",
+        "spring.jpa.show-sql=false",
+        "auth.user-agent-cache.snapshot-path=target/user-agent-cache.bin"
+})
+@Testcontainers(disabledWithoutDocker = true)
+public abstract class PostgresIntegrationTest {
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @DynamicPropertySource
+    static void postgresProperties(DynamicPropertyRegistry registry) {
+        POSTGRES.start();
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+    }
+}
@@ -0,0 +1,30 @@
+package com.notif.api.support;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Records the SQL statements Hibernate prepares on the current thread, for tests that pin how many statements a
+ * code path issues. Enabled with spring.jpa.properties.hibernate.session_factory.statement_inspector.
+ *
+ * Statements sent through JdbcTemplate bypass Hibernate and are not seen.
+ */
+public class StatementCounter implements StatementInspector {
+    private static final ThreadLocal<List<String>> STATEMENTS = ThreadLocal.withInitial(ArrayList::new);
+
+    @Override
+    public String inspect(String sql) {
+        STATEMENTS.get().add(sql);
+        return sql;
+    }
+
+    public static void reset() {
+        STATEMENTS.get().clear();
+    }
+
+    public static List<String> statements() {
+        return List.copyOf(STATEMENTS.get());
+    }
+}